@@ -125,6 +125,42 @@ public class ScArcGauge extends ScGauge {
         return path;
     }
 
+    /**
+     * Create the closed form of the arc.
+     * Only a circular arc have a closed form so if the area is not a square return null and the
+     * path will be sampled.
+     *
+     * @param width  the drawing area width
+     * @param height the drawing area height
+     * @return the arc geometry
+     */
+    @Override
+    @SuppressWarnings("all")
+    protected ScPathGeometry createGeometry(int width, int height) {
+        // Apply the same dimensions used to create the path
+        if (this.getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT) width = height;
+        if (this.getLayoutParams().height == ViewGroup.LayoutParams.WRAP_CONTENT) height = width;
+
+        // Check for a circle
+        if (width != height) return null;
+
+        // The center of the area
+        float centerX = width / 2.0f;
+        float centerY = height / 2.0f;
+
+        // With a 360° sweep the path was rotated around the origin so must rotate the center too
+        if (this.mAngleSweep == 360.0f || this.mAngleSweep == -360.0f) {
+            double angle = Math.toRadians(this.mAngleStart);
+            float x = (float) (centerX * Math.cos(angle) - centerY * Math.sin(angle));
+            float y = (float) (centerX * Math.sin(angle) + centerY * Math.cos(angle));
+            centerX = x;
+            centerY = y;
+        }
+
+        // Return the geometry
+        return new ScArcGeometry(centerX, centerY, width / 2.0f, this.mAngleStart, this.mAngleSweep);
+    }
+
 
     /****************************************************************************************
      * Instance state
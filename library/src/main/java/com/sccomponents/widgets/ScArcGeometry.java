@@ -0,0 +1,320 @@
+package com.sccomponents.widgets;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * The closed form of a circular arc.
+ * <p>
+ * Describe the same path created by the Path.addArc method when the oval is a circle.
+ * The angles are in degrees and follow the canvas convention: the zero is on the right of the
+ * center and the positive sweep is clockwise.
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class ScArcGeometry extends ScPathGeometry {
+
+    /****************************************************************************************
+     * Private variable
+     */
+
+    private static final double FULL_CIRCLE = Math.PI * 2;
+
+    private float mCenterX;
+    private float mCenterY;
+    private float mRadius;
+    private float mStartAngle;
+    private float mSweepAngle;
+
+    private double mStart;
+    private double mSweep;
+    private float mDirection;
+
+    private RectF mOval;
+    private float[] mPointHolder;
+
+
+    /****************************************************************************************
+     * Constructor
+     */
+
+    @SuppressWarnings("unused")
+    public ScArcGeometry(float centerX, float centerY, float radius, float startAngle, float sweepAngle) {
+        // Limit the sweep to one round
+        if (sweepAngle > 360.0f) sweepAngle = 360.0f;
+        if (sweepAngle < -360.0f) sweepAngle = -360.0f;
+
+        // Init
+        this.mCenterX = centerX;
+        this.mCenterY = centerY;
+        this.mRadius = Math.abs(radius);
+        this.mStartAngle = startAngle;
+        this.mSweepAngle = sweepAngle;
+
+        // Hold the values in radiant for the internal calculations
+        this.mStart = Math.toRadians(startAngle);
+        this.mSweep = Math.toRadians(Math.abs(sweepAngle));
+        this.mDirection = sweepAngle < 0.0f ? -1.0f : 1.0f;
+
+        this.mPointHolder = new float[3];
+        this.mOval = new RectF(
+                centerX - this.mRadius, centerY - this.mRadius,
+                centerX + this.mRadius, centerY + this.mRadius
+        );
+    }
+
+
+    /****************************************************************************************
+     * Private methods
+     */
+
+    /**
+     * Find the angle, following the sweep direction, of the passed angle from the start angle.
+     * The result is always between 0 and 2PI.
+     *
+     * @param angle the angle in radiant
+     * @return the relative angle in radiant
+     */
+    private double getRelativeAngle(double angle) {
+        double relative = ((angle - this.mStart) * this.mDirection) % ScArcGeometry.FULL_CIRCLE;
+        return relative < 0 ? relative + ScArcGeometry.FULL_CIRCLE : relative;
+    }
+
+    /**
+     * Convert a distance from the start in the absolute angle in radiant.
+     *
+     * @param distance the distance from the start
+     * @return the angle in radiant
+     */
+    private double getAngle(float distance) {
+        return this.mRadius == 0.0f ? this.mStart :
+                this.mStart + this.mDirection * distance / this.mRadius;
+    }
+
+    /**
+     * Write inside the holder the point at the passed absolute angle.
+     *
+     * @param angle  the angle in radiant
+     * @param holder the destination holder
+     */
+    private void setPoint(double angle, float[] holder) {
+        holder[0] = this.mCenterX + this.mRadius * (float) Math.cos(angle);
+        holder[1] = this.mCenterY + this.mRadius * (float) Math.sin(angle);
+        holder[2] = (float) (angle + this.mDirection * Math.PI / 2);
+    }
+
+
+    /****************************************************************************************
+     * Overrides
+     */
+
+    /**
+     * Get the arc length.
+     *
+     * @return the length
+     */
+    @Override
+    public float getLength() {
+        return (float) (this.mRadius * this.mSweep);
+    }
+
+    /**
+     * Write the arc boundaries inside the passed rectangle.
+     * Are considered the arc ends and the cardinal points touched by the arc.
+     *
+     * @param bounds the destination rectangle
+     */
+    @Override
+    public void getBounds(RectF bounds) {
+        // Start from the arc ends
+        float[] holder = this.mPointHolder;
+        this.setPoint(this.mStart, holder);
+        bounds.set(holder[0], holder[1], holder[0], holder[1]);
+
+        this.setPoint(this.getAngle(this.getLength()), holder);
+        bounds.union(holder[0], holder[1]);
+
+        // Extend to the cardinal points included inside the sweep
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            double angle = quadrant * Math.PI / 2;
+            if (this.getRelativeAngle(angle) <= this.mSweep) {
+                this.setPoint(angle, holder);
+                bounds.union(holder[0], holder[1]);
+            }
+        }
+    }
+
+    /**
+     * Check if the arc is a complete circle.
+     *
+     * @return true if closed
+     */
+    @Override
+    public boolean isClosed() {
+        return this.mSweep >= ScArcGeometry.FULL_CIRCLE;
+    }
+
+    /**
+     * Find the point at the passed distance from the arc start.
+     *
+     * @param distance the distance from the start
+     * @param holder   the destination holder
+     */
+    @Override
+    public void getPoint(float distance, float[] holder) {
+        this.setPoint(this.getAngle(distance), holder);
+    }
+
+    /**
+     * Find the point on the arc nearest to the one passed.
+     * The angle of the point from the center give the nearest point on the circle, if it fall
+     * outside the sweep the nearest point is one of the arc ends.
+     *
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @param holder    the destination holder
+     * @return true if a point was found
+     */
+    @Override
+    public boolean findNearest(float x, float y, float threshold, float[] holder) {
+        // Find the angle of the point respect the start following the sweep direction.
+        // On the center all the points have the same distance so take the start one.
+        float dx = x - this.mCenterX;
+        float dy = y - this.mCenterY;
+        double relative = dx == 0.0f && dy == 0.0f ? 0.0 :
+                this.getRelativeAngle(Math.atan2(dy, dx));
+
+        // If outside the sweep choose the nearest end
+        if (relative > this.mSweep) {
+            double angle = Math.atan2(dy, dx);
+            double toStart = Math.abs(Math.IEEEremainder(angle - this.mStart, ScArcGeometry.FULL_CIRCLE));
+            double toEnd = Math.abs(Math.IEEEremainder(
+                    angle - (this.mStart + this.mDirection * this.mSweep), ScArcGeometry.FULL_CIRCLE));
+            relative = toStart <= toEnd ? 0.0 : this.mSweep;
+        }
+
+        // Find the point and check if inside the threshold area
+        float distance = (float) (relative * this.mRadius);
+        this.getPoint(distance, holder);
+        if (!ScPathGeometry.isInside(x, y, holder[0], holder[1], threshold)) return false;
+
+        // Fill the structure
+        holder[3] = holder[2];
+        holder[2] = distance;
+        return true;
+    }
+
+    /**
+     * Append to the destination path the arc segment between the two passed distances.
+     * The sweeps larger than a half round are split to avoid the arcTo degeneration.
+     *
+     * @param startD          the start distance
+     * @param stopD           the end distance
+     * @param dst             the destination path
+     * @param startWithMoveTo start with a moveTo calling
+     */
+    @Override
+    public void getSegment(float startD, float stopD, Path dst, boolean startWithMoveTo) {
+        // Move on the starting point
+        float[] holder = this.mPointHolder;
+        this.getPoint(startD, holder);
+        if (startWithMoveTo) dst.moveTo(holder[0], holder[1]);
+        else dst.lineTo(holder[0], holder[1]);
+
+        // Find the segment angles in degrees
+        float start = (float) Math.toDegrees(this.getAngle(startD));
+        float sweep = (float) Math.toDegrees(this.getAngle(stopD)) - start;
+
+        // Add the arc
+        if (Math.abs(sweep) > 180.0f) {
+            dst.arcTo(this.mOval, start, sweep / 2, false);
+            dst.arcTo(this.mOval, start + sweep / 2, sweep / 2, false);
+        } else {
+            dst.arcTo(this.mOval, start, sweep, false);
+        }
+    }
+
+    /**
+     * Create a new arc scaling and after translating this one.
+     * Only the uniform positive scales keep the arc circular, in the other cases return null.
+     *
+     * @param scaleX the horizontal scale
+     * @param scaleY the vertical scale
+     * @param dx     the horizontal offset
+     * @param dy     the vertical offset
+     * @return the new geometry
+     */
+    @Override
+    public ScPathGeometry transform(float scaleX, float scaleY, float dx, float dy) {
+        // Check if still a circle
+        if (scaleX <= 0.0f || Math.abs(scaleX - scaleY) > 0.0001f * scaleX) return null;
+
+        // Create the new arc
+        return new ScArcGeometry(
+                this.mCenterX * scaleX + dx,
+                this.mCenterY * scaleY + dy,
+                this.mRadius * scaleX,
+                this.mStartAngle,
+                this.mSweepAngle
+        );
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Get the horizontal center coordinate.
+     *
+     * @return the center x
+     */
+    @SuppressWarnings("unused")
+    public float getCenterX() {
+        return this.mCenterX;
+    }
+
+    /**
+     * Get the vertical center coordinate.
+     *
+     * @return the center y
+     */
+    @SuppressWarnings("unused")
+    public float getCenterY() {
+        return this.mCenterY;
+    }
+
+    /**
+     * Get the arc radius.
+     *
+     * @return the radius
+     */
+    @SuppressWarnings("unused")
+    public float getRadius() {
+        return this.mRadius;
+    }
+
+    /**
+     * Get the start angle in degrees.
+     *
+     * @return the start angle
+     */
+    @SuppressWarnings("unused")
+    public float getStartAngle() {
+        return this.mStartAngle;
+    }
+
+    /**
+     * Get the sweep angle in degrees.
+     *
+     * @return the sweep angle
+     */
+    @SuppressWarnings("unused")
+    public float getSweepAngle() {
+        return this.mSweepAngle;
+    }
+
+}
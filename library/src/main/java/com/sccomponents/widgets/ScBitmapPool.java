@@ -0,0 +1,263 @@
+package com.sccomponents.widgets;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A library-wide pool of the bitmaps used by the components.
+ * <p>
+ * The released bitmaps are held inside the pool until the memory budget is reached, after that
+ * the least recently released bitmaps are recycled.
+ * When a bitmap is requested the pool try to reuse a bitmap with the same dimensions, or
+ * starting from KitKat any bitmap big enough to be reconfigured, before to create a new one.
+ * The pool is shared by all the components so all the methods are synchronized.
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class ScBitmapPool {
+
+    /****************************************************************************************
+     * Constants
+     */
+
+    public static final int DEFAULT_BUDGET = 8 * 1024 * 1024;
+
+
+    /****************************************************************************************
+     * Private variables
+     */
+
+    private static final List<Bitmap> sBitmaps = new ArrayList<>();
+    private static int sBudget = ScBitmapPool.DEFAULT_BUDGET;
+    private static int sSize = 0;
+    private static boolean sLowPrecision = false;
+
+
+    /****************************************************************************************
+     * Constructor
+     */
+
+    private ScBitmapPool() {
+        // Only static methods
+    }
+
+
+    /****************************************************************************************
+     * Privates methods
+     */
+
+    /**
+     * Get the bytes used by a bitmap.
+     *
+     * @param bitmap the bitmap
+     * @return the bytes count
+     */
+    private static int getSize(Bitmap bitmap) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT ?
+                bitmap.getAllocationByteCount() : bitmap.getByteCount();
+    }
+
+    /**
+     * Get the bytes per pixel of a bitmap configuration.
+     *
+     * @param config the configuration
+     * @return the bytes count
+     */
+    private static int getBytesPerPixel(Bitmap.Config config) {
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+
+            default:
+                return 4;
+        }
+    }
+
+    /**
+     * Remove a bitmap from the pool.
+     *
+     * @param index the bitmap position
+     * @return the removed bitmap
+     */
+    private static Bitmap remove(int index) {
+        Bitmap bitmap = ScBitmapPool.sBitmaps.remove(index);
+        ScBitmapPool.sSize -= ScBitmapPool.getSize(bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Recycle the least recently released bitmaps until the pool size fit the budget.
+     */
+    private static void trim() {
+        while (ScBitmapPool.sSize > ScBitmapPool.sBudget && !ScBitmapPool.sBitmaps.isEmpty())
+            ScBitmapPool.remove(0).recycle();
+    }
+
+
+    /****************************************************************************************
+     * Public methods
+     */
+
+    /**
+     * Get a transparent bitmap from the pool or create a new one if no one can be reused.
+     * The same dimensions bitmaps are preferred and the most recently released are found
+     * first.
+     *
+     * @param width  the bitmap width
+     * @param height the bitmap height
+     * @param config the bitmap configuration
+     * @return the bitmap
+     */
+    @SuppressWarnings("unused")
+    public static synchronized Bitmap acquire(int width, int height, Bitmap.Config config) {
+        // Search for a bitmap with the same dimensions
+        for (int index = ScBitmapPool.sBitmaps.size() - 1; index >= 0; index--) {
+            Bitmap bitmap = ScBitmapPool.sBitmaps.get(index);
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height &&
+                    bitmap.getConfig() == config) {
+                // Remove from the pool and clean it
+                ScBitmapPool.remove(index);
+                bitmap.eraseColor(Color.TRANSPARENT);
+                return bitmap;
+            }
+        }
+
+        // Search for a bitmap big enough to be reconfigured
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            int needed = width * height * ScBitmapPool.getBytesPerPixel(config);
+            for (int index = ScBitmapPool.sBitmaps.size() - 1; index >= 0; index--) {
+                Bitmap bitmap = ScBitmapPool.sBitmaps.get(index);
+                if (bitmap.getAllocationByteCount() >= needed) {
+                    // Remove from the pool, reconfigure and clean it
+                    ScBitmapPool.remove(index);
+                    bitmap.reconfigure(width, height, config);
+                    bitmap.eraseColor(Color.TRANSPARENT);
+                    return bitmap;
+                }
+            }
+        }
+
+        // Create a new one
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Give back a bitmap to the pool.
+     * The bitmap must not be used anymore by the caller after this call.
+     * If the bitmap is bigger than the whole budget will be recycled immediately.
+     *
+     * @param bitmap the bitmap
+     */
+    @SuppressWarnings("unused")
+    public static synchronized void release(Bitmap bitmap) {
+        // Check for empty values
+        if (bitmap == null || bitmap.isRecycled() || ScBitmapPool.sBitmaps.contains(bitmap))
+            return;
+
+        // Not reusable
+        int size = ScBitmapPool.getSize(bitmap);
+        if (!bitmap.isMutable() || size > ScBitmapPool.sBudget) {
+            bitmap.recycle();
+            return;
+        }
+
+        // Add to the pool as the most recent
+        ScBitmapPool.sBitmaps.add(bitmap);
+        ScBitmapPool.sSize += size;
+        ScBitmapPool.trim();
+    }
+
+    /**
+     * Recycle all the bitmaps held by the pool.
+     */
+    @SuppressWarnings("unused")
+    public static synchronized void clear() {
+        while (!ScBitmapPool.sBitmaps.isEmpty())
+            ScBitmapPool.remove(ScBitmapPool.sBitmaps.size() - 1).recycle();
+    }
+
+    /**
+     * Get the best bitmap configuration considering the precision settings.
+     * The lower precision configuration have no alpha channel, where transparent is black, so
+     * can be used only when every pixel of the bitmap will be covered by opaque colors.
+     * A bitmap drawn only in part, as the colored path of the copier, must keep the alpha
+     * channel or its anti-aliased edges will be darkened.
+     *
+     * @param opaque true if the bitmap will be fully covered by opaque colors
+     * @return the configuration
+     */
+    @SuppressWarnings("unused")
+    public static Bitmap.Config getConfig(boolean opaque) {
+        return ScBitmapPool.sLowPrecision && opaque ? Bitmap.Config.RGB_565 : Bitmap.Config.ARGB_8888;
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Return the pool memory budget in bytes.
+     *
+     * @return the budget
+     */
+    @SuppressWarnings("unused")
+    public static synchronized int getBudget() {
+        return ScBitmapPool.sBudget;
+    }
+
+    /**
+     * Set the pool memory budget in bytes.
+     * If the pool size is over the new budget the oldest bitmaps will be recycled.
+     *
+     * @param value the budget
+     */
+    @SuppressWarnings("unused")
+    public static synchronized void setBudget(int value) {
+        if (value < 0) value = 0;
+        ScBitmapPool.sBudget = value;
+        ScBitmapPool.trim();
+    }
+
+    /**
+     * Return the bytes currently held by the pool.
+     *
+     * @return the pool size
+     */
+    @SuppressWarnings("unused")
+    public static synchronized int getSize() {
+        return ScBitmapPool.sSize;
+    }
+
+    /**
+     * Return true if the lower precision configuration is enabled.
+     *
+     * @return the current status
+     */
+    @SuppressWarnings("unused")
+    public static boolean getLowPrecision() {
+        return ScBitmapPool.sLowPrecision;
+    }
+
+    /**
+     * Enable the lower precision configuration, with 16 bits per pixel, for the bitmaps that
+     * are fully covered by opaque colors.
+     *
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    public static void setLowPrecision(boolean value) {
+        ScBitmapPool.sLowPrecision = value;
+    }
+
+}
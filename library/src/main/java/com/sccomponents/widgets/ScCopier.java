@@ -3,14 +3,26 @@ package com.sccomponents.widgets;
 import android.graphics.Bitmap;
 import android.graphics.BitmapShader;
 import android.graphics.Canvas;
+import android.graphics.DashPathEffect;
+import android.graphics.LinearGradient;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
 import android.graphics.RectF;
 import android.graphics.Shader;
+import android.graphics.SweepGradient;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
 
 import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Create a copy of the path.
@@ -22,14 +34,100 @@ import java.util.Arrays;
  */
 public class ScCopier extends ScFeature {
 
+    /****************************************************************************************
+     * Enumerators
+     */
+
+    /**
+     * The way to render the colors along the path.
+     * SHADER: use a shader on the path stroke.
+     * MESH: tessellate the path stroke in a triangle strip with the colors on the vertices.
+     */
+    @SuppressWarnings("unused")
+    public enum RenderModes {
+        SHADER,
+        MESH
+    }
+
+    /**
+     * The way to find the visible segment of the path.
+     * EXTRACT: extract the segment from the path measure.
+     * DASH: draw the whole path with a dash effect that show only the segment.
+     * Note that on the hardware accelerated canvas a path with an effect is rendered by a
+     * texture, so on the dash mode a new texture is created every time the segment change.
+     */
+    @SuppressWarnings("unused")
+    public enum SegmentModes {
+        EXTRACT,
+        DASH
+    }
+
+
+    /****************************************************************************************
+     * Constants
+     */
+
+    private static final float MESH_STEP = 2.0f;
+
+
+    /****************************************************************************************
+     * Static variables
+     */
+
+    // Create the colored bitmaps in background one by one and give back the result on the
+    // main thread.
+    // The thread is a daemon with the background priority so not compete with the main thread
+    // and not keep the application alive.
+    private static final ThreadPoolExecutor sExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, "ScCopier");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+    private static final Handler sHandler = new Handler(Looper.getMainLooper());
+
+
     /****************************************************************************************
      * Private and protected variables
      */
 
     private Path mSegment;
-    private BitmapShader mShader;
+    private Path mTransformedSegment;
+    private SegmentModes mSegmentMode;
+    private boolean mSegmentMustBeRebuilt;
+    private float mSegmentStart;
+    private float mSegmentEnd;
+    private boolean mSegmentDash;
+    private float[] mSegmentIntervals;
+    private DashPathEffect mSegmentEffect;
+    private Shader mShader;
+    private Bitmap mBitmap;
+    private int mBitmapGeneration;
+    private Future<?> mBitmapFuture;
+    private boolean mShaderChanged;
+    private Matrix mShaderMatrix;
     private boolean mForceCreateShader;
 
+    private RenderModes mRenderMode;
+    private boolean mMeshMustBeRebuilt;
+    private float mMeshStart;
+    private float mMeshEnd;
+    private float[] mMeshPoints;
+    private float[] mMeshVertices;
+    private int[] mMeshColors;
+    private int[] mMeshStrips;
+    private int mMeshStripsCount;
+
     private OnDrawListener mOnDrawListener;
 
 
@@ -44,7 +142,159 @@ public class ScCopier extends ScFeature {
 
         // Init
         this.mSegment = new Path();
+        this.mTransformedSegment = new Path();
+        this.mSegmentMode = SegmentModes.EXTRACT;
+        this.mSegmentMustBeRebuilt = true;
+        this.mSegmentIntervals = new float[2];
+        this.mShaderMatrix = new Matrix();
         this.mForceCreateShader = true;
+        this.mRenderMode = RenderModes.SHADER;
+        this.mMeshMustBeRebuilt = true;
+    }
+
+
+    /****************************************************************************************
+     * Shaders
+     */
+
+    /**
+     * Find the color stops of the gradient that cover the passed fraction of the shader.
+     * On solid mode each color is repeated at the start and at the end of its sector.
+     * If the fraction not cover the whole shader, as the arcs that not close the circle, the
+     * remaining part is half filled with the last color and half with the first one so the
+     * path caps take the color of the nearest end.
+     *
+     * @param fraction  the fraction of the shader covered by the path
+     * @param colors    the destination colors holder
+     * @param positions the destination positions holder
+     * @return the stops count
+     */
+    private int getColorStops(float fraction, int[] colors, float[] positions) {
+        // Holders
+        int count = this.mColors.length;
+        int stops = 0;
+
+        // Fill by the case
+        if (this.mColorsMode == ColorsMode.SOLID) {
+            // Each color fill its sector
+            for (int index = 0; index < count; index++) {
+                colors[stops] = this.mColors[index];
+                positions[stops++] = fraction * index / count;
+                colors[stops] = this.mColors[index];
+                positions[stops++] = fraction * (index + 1) / count;
+            }
+
+        } else {
+            // The colors are distributed on the fraction
+            for (int index = 0; index < count; index++) {
+                colors[stops] = this.mColors[index];
+                positions[stops++] = fraction * index / (count - 1);
+            }
+        }
+
+        // Fill the remaining part
+        if (fraction < 1.0f) {
+            float middle = (fraction + 1.0f) / 2;
+            colors[stops] = this.mColors[count - 1];
+            positions[stops++] = middle;
+            colors[stops] = this.mColors[0];
+            positions[stops++] = middle;
+            colors[stops] = this.mColors[0];
+            positions[stops++] = 1.0f;
+        }
+
+        // Return the stops count
+        return stops;
+    }
+
+    /**
+     * Create a sweep gradient that follow the arc.
+     * The gradient is rotated on the arc start angle and mirrored if the arc sweep is
+     * counterclockwise.
+     *
+     * @param arc the arc geometry
+     * @return the shader
+     */
+    private Shader createSweepGradient(ScArcGeometry arc) {
+        // Find the color stops
+        float fraction = Math.abs(arc.getSweepAngle()) / 360.0f;
+        int[] colors = new int[this.mColors.length * 2 + 3];
+        float[] positions = new float[colors.length];
+        int stops = this.getColorStops(fraction, colors, positions);
+
+        // Create the shader
+        SweepGradient shader = new SweepGradient(
+                arc.getCenterX(), arc.getCenterY(),
+                Arrays.copyOf(colors, stops), Arrays.copyOf(positions, stops)
+        );
+
+        // Rotate it on the start angle
+        this.mShaderMatrix.reset();
+        if (arc.getSweepAngle() < 0)
+            this.mShaderMatrix.setScale(1.0f, -1.0f, arc.getCenterX(), arc.getCenterY());
+        this.mShaderMatrix.postRotate(arc.getStartAngle(), arc.getCenterX(), arc.getCenterY());
+        shader.setLocalMatrix(this.mShaderMatrix);
+
+        // Return the shader
+        return shader;
+    }
+
+    /**
+     * Create a linear gradient that follow the line.
+     *
+     * @param line the line geometry
+     * @return the shader
+     */
+    private Shader createLinearGradient(ScLinearGeometry line) {
+        // Find the color stops
+        int[] colors = new int[this.mColors.length * 2];
+        float[] positions = new float[colors.length];
+        int stops = this.getColorStops(1.0f, colors, positions);
+
+        // Create the shader
+        this.mShaderMatrix.reset();
+        return new LinearGradient(
+                line.getStartX(), line.getStartY(), line.getEndX(), line.getEndY(),
+                Arrays.copyOf(colors, stops), Arrays.copyOf(positions, stops),
+                Shader.TileMode.CLAMP
+        );
+    }
+
+    /**
+     * Create the shader for draw the colors along the path.
+     * When the path have a closed form a native gradient is used, otherwise a colored bitmap
+     * will be created following the path.
+     *
+     * @return the shader
+     */
+    private Shader createShader() {
+        // Select by the geometry
+        ScPathGeometry geometry = this.mPathMeasure.getGeometry();
+        if (geometry instanceof ScArcGeometry) {
+            this.releaseBitmap();
+            return this.createSweepGradient((ScArcGeometry) geometry);
+        }
+        if (geometry instanceof ScLinearGeometry) {
+            this.releaseBitmap();
+            return this.createLinearGradient((ScLinearGeometry) geometry);
+        }
+
+        // Arbitrary path.
+        // If no one can be requested for a new drawing the bitmap must be created now.
+        ColoredBitmapTask task = this.createColoredBitmapTask();
+        if (!this.hasOnInvalidateListener()) {
+            this.releaseBitmap();
+            this.mShaderMatrix.reset();
+            this.mBitmap = task.createBitmap();
+            return new BitmapShader(this.mBitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        }
+
+        // Create the bitmap in background and keep the previous bitmap shader until ready.
+        // The previous request, if still queued, is not valid anymore.
+        this.cancelColoredBitmapTask();
+        task.generation = ++this.mBitmapGeneration;
+        this.mBitmapFuture = ScCopier.sExecutor.submit(task);
+        return this.mBitmap != null ? this.mShader : null;
     }
 
 
@@ -58,58 +308,260 @@ public class ScCopier extends ScFeature {
      * the global scope for do it once.
      */
 
+    /**
+     * Cancel the colored bitmap creation if still waiting in the background queue.
+     * The cancelled task is removed from the queue so not hold the copier anymore.
+     */
+    private void cancelColoredBitmapTask() {
+        if (this.mBitmapFuture == null) return;
+        if (this.mBitmapFuture.cancel(false)) ScCopier.sExecutor.purge();
+        this.mBitmapFuture = null;
+    }
+
+    /**
+     * Give back the shader bitmap to the pool.
+     * The bitmap that will be created in background is discarded too.
+     */
+    private void releaseBitmap() {
+        ScBitmapPool.release(this.mBitmap);
+        this.mBitmap = null;
+        this.mBitmapGeneration++;
+        this.cancelColoredBitmapTask();
+    }
+
+    /**
+     * Take a snapshot of the measured path and of the colors needed to create the colored
+     * bitmap. The snapshot not depend by the feature anymore so the bitmap can be created on
+     * another thread.
+     *
+     * @return the bitmap task
+     */
+    private ColoredBitmapTask createColoredBitmapTask() {
+        // Hold the bitmap settings using the path boundaries
+        RectF bounds = this.mPathMeasure.getBounds();
+        ColoredBitmapTask task = new ColoredBitmapTask();
+        task.copier = this;
+        task.width = (int) (bounds.right + this.mPaint.getStrokeWidth());
+        task.height = (int) (bounds.bottom + this.mPaint.getStrokeWidth());
+        task.config = Bitmap.Config.ARGB_8888;
+        task.paint = new Paint(this.mPaint);
+        task.length = this.mPathLength;
+
+        // Find all the points of the path with one traversal and their colors
+        int count = (int) Math.ceil(this.mPathLength);
+        task.points = new float[count * 3];
+        task.colors = new int[count];
+        this.mPathMeasure.getPosTan(0.0f, 1.0f, count, task.points);
+        for (int distance = 0; distance < count; distance++)
+            task.colors[distance] = this.getGradientColor(distance);
+
+        // Return the snapshot
+        return task;
+    }
+
     /**
      * Create a colored bitmap following the path.
      * Note that the bitmap will be created on the whole path and not on the extracted segment.
      * This bitmap is rough and must clipped before draw it on the destination canvas.
+     * The bitmap is taken from the pool and always have the alpha channel as only the stroke
+     * pixels are drawn and the stroke edges are sampled together with the transparent ones.
      *
      * @return the bitmap
      */
     public Bitmap createColoredBitmap() {
-        // Create the bitmap using the path boundaries and retrieve the canvas where draw
-        RectF bounds = this.mPathMeasure.getBounds();
-        Bitmap bitmap = Bitmap.createBitmap(
-                (int) (bounds.right + this.mPaint.getStrokeWidth()),
-                (int) (bounds.bottom + this.mPaint.getStrokeWidth()),
-                Bitmap.Config.ARGB_8888
-        );
-        Canvas canvas = new Canvas(bitmap);
+        return this.createColoredBitmapTask().createBitmap();
+    }
+
+    /**
+     * Called on the main thread when a colored bitmap created in background is ready.
+     * If in the meantime the shader was requested again or released the bitmap is not valid
+     * anymore and is given back to the pool.
+     *
+     * @param generation the generation of the request
+     * @param bitmap     the bitmap
+     */
+    private void onColoredBitmapReady(int generation, Bitmap bitmap) {
+        // Check if still valid
+        if (generation != this.mBitmapGeneration) {
+            ScBitmapPool.release(bitmap);
+            return;
+        }
+
+        // Replace the previous shader
+        this.releaseBitmap();
+        this.mBitmap = bitmap;
+        this.mShaderMatrix.reset();
+        this.mShader = new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        this.mShaderChanged = true;
+
+        // Request a new drawing
+        this.invalidate();
+    }
+
+    /**
+     * Check if the colors must be drawn by the mesh.
+     *
+     * @return true if draw the mesh
+     */
+    private boolean isMesh() {
+        return this.mRenderMode == RenderModes.MESH && this.mColors != null && this.mColors.length > 1;
+    }
+
+    /**
+     * Tessellate the path segment between the passed distances in triangle strips, one for
+     * each contour. Each point along the path add two vertices, on the two sides of the stroke,
+     * with the gradient color of the point.
+     * The mesh is tessellated again only if the segment or the feature inputs changed.
+     *
+     * @param start the start distance
+     * @param end   the end distance
+     */
+    private void buildMesh(float start, float end) {
+        // Check if the mesh is still valid
+        if (!this.mMeshMustBeRebuilt && this.mMeshStart == start && this.mMeshEnd == end) return;
+        this.mMeshMustBeRebuilt = false;
+        this.mMeshStart = start;
+        this.mMeshEnd = end;
+
+        // Holders
+        int contours = this.mPathMeasure.getCount();
+        if (this.mMeshStrips == null || this.mMeshStrips.length < contours + 1)
+            this.mMeshStrips = new int[contours + 1];
+        this.mMeshStripsCount = 0;
 
-        // Hold if a rounded stroke and the point holder
-        boolean isRoundedStroke = this.mPaint.getStrokeCap() == Paint.Cap.ROUND;
         float halfStroke = this.mPaint.getStrokeWidth() / 2;
-        float[] point;
-
-        // Cycle all points of the path
-        for (int distance = 0; distance < this.mPathLength; distance++) {
-            // Get the point and adjust the for the stroke size
-            point = this.mPathMeasure.getPosTan(distance);
-
-            // Trigger for index position and get the color
-            boolean isFirstOrLast = distance == 0 || distance == this.mPathLength - 1;
-            int color = this.getGradientColor(distance);
-
-            // Set the current painter color and stroke
-            this.mPaint.setColor(color);
-            this.mPaint.setStrokeCap(
-                    isRoundedStroke && isFirstOrLast ? Paint.Cap.ROUND : Paint.Cap.BUTT);
-
-            // If the round stroke is not settled the point have a square shape.
-            // This can create a visual issue when the path follow a curve.
-            // To avoid this issue the point (square) will be rotate of the tangent angle
-            // before to write it on the canvas.
-            canvas.save();
-            canvas.rotate((float) Math.toDegrees(point[3]), point[0], point[1]);
-            canvas.drawPoint(point[0] + halfStroke, point[1], this.mPaint);
-            canvas.restore();
+        int vertices = 0;
+
+        // Cycle all contours
+        for (int contour = 0; contour < contours; contour++) {
+            // Limit the segment to the contour
+            float contourStart = this.mPathMeasure.getContourOffset(contour);
+            float contourEnd = this.mPathMeasure.getContourOffset(contour + 1);
+            float segmentStart = Math.max(start, contourStart);
+            float segmentEnd = Math.min(end, contourEnd);
+            if (segmentStart >= segmentEnd) continue;
+
+            // The contour start distance belong to the previous contour so move a little forward
+            if (contour > 0 && segmentStart == contourStart)
+                segmentStart = Math.nextUp(segmentStart);
+
+            // Find the points along the segment
+            int points = (int) Math.ceil((segmentEnd - segmentStart) / ScCopier.MESH_STEP) + 1;
+            float step = (segmentEnd - segmentStart) / (points - 1);
+            if (this.mMeshPoints == null || this.mMeshPoints.length < points * 3)
+                this.mMeshPoints = new float[points * 3];
+            this.mPathMeasure.getPosTan(segmentStart, step, points, this.mMeshPoints);
+
+            // Check the holders capacity
+            int size = (vertices + points * 2) * 2;
+            if (this.mMeshVertices == null || this.mMeshVertices.length < size) {
+                this.mMeshVertices = Arrays.copyOf(
+                        this.mMeshVertices == null ? new float[0] : this.mMeshVertices, size * 2);
+                this.mMeshColors = Arrays.copyOf(
+                        this.mMeshColors == null ? new int[0] : this.mMeshColors, size);
+            }
+
+            // Open the strip and add two vertices for each point
+            this.mMeshStrips[this.mMeshStripsCount++] = vertices;
+            for (int index = 0; index < points; index++) {
+                // The point and its normal
+                float x = this.mMeshPoints[index * 3];
+                float y = this.mMeshPoints[index * 3 + 1];
+                float normalX = (float) -Math.sin(this.mMeshPoints[index * 3 + 2]) * halfStroke;
+                float normalY = (float) Math.cos(this.mMeshPoints[index * 3 + 2]) * halfStroke;
+                int color = this.getGradientColor(segmentStart + step * index);
+
+                // Add the vertices
+                this.mMeshVertices[vertices * 2] = x + normalX;
+                this.mMeshVertices[vertices * 2 + 1] = y + normalY;
+                this.mMeshColors[vertices++] = color;
+
+                this.mMeshVertices[vertices * 2] = x - normalX;
+                this.mMeshVertices[vertices * 2 + 1] = y - normalY;
+                this.mMeshColors[vertices++] = color;
+            }
         }
 
-        // Check for rounded stroke
-        if (isRoundedStroke)
-            this.mPaint.setStrokeCap(Paint.Cap.ROUND);
+        // Close the last strip
+        this.mMeshStrips[this.mMeshStripsCount] = vertices;
+    }
+
+    /**
+     * Draw the mesh strips on the canvas.
+     *
+     * @param canvas the destination canvas
+     * @param paint  the painter
+     */
+    private void drawMesh(Canvas canvas, Paint paint) {
+        // Cycle all strips
+        for (int strip = 0; strip < this.mMeshStripsCount; strip++) {
+            // Find the strip vertices
+            int first = this.mMeshStrips[strip];
+            int count = this.mMeshStrips[strip + 1] - first;
+
+            // Draw
+            canvas.drawVertices(
+                    Canvas.VertexMode.TRIANGLE_STRIP,
+                    count * 2, this.mMeshVertices, first * 2,
+                    null, 0,
+                    this.mMeshColors, first,
+                    null, 0, 0,
+                    paint
+            );
+        }
+    }
 
-        // Return the new bitmap
-        return bitmap;
+    /**
+     * Check if the segment can be shown by the dash effect.
+     * The dash follow all the contours so can be used only on a single contour path drawn by
+     * stroke and without other path effects.
+     *
+     * @return true if use the dash
+     */
+    private boolean isDash() {
+        return this.mSegmentMode == SegmentModes.DASH &&
+                this.mPathMeasure.getCount() == 1 &&
+                this.mPaint.getStyle() == Paint.Style.STROKE &&
+                this.mPaint.getPathEffect() == null;
+    }
+
+    /**
+     * Find the visible segment between the passed distances.
+     * On dash mode the segment is the whole path and the dash effect have one visible interval
+     * long as the segment and one hidden interval long as the path, shifted by the phase to
+     * start at the segment start.
+     * The segment is found again only if the distances, the path or the way to find it
+     * changed.
+     * Note that the dash effect is immutable so a new one is created every time the distances
+     * change, as while animating the value, but the intervals holder is reused.
+     *
+     * @param start  the start distance
+     * @param end    the end distance
+     * @param isDash true if use the dash
+     */
+    private void updateSegment(float start, float end, boolean isDash) {
+        // Check if the segment is still valid
+        if (!this.mSegmentMustBeRebuilt && this.mSegmentDash == isDash &&
+                this.mSegmentStart == start && this.mSegmentEnd == end)
+            return;
+        this.mSegmentMustBeRebuilt = false;
+        this.mSegmentDash = isDash;
+        this.mSegmentStart = start;
+        this.mSegmentEnd = end;
+
+        // Dash or extract.
+        // The dash effect copy the intervals so the holder can be reused.
+        if (isDash) {
+            this.mSegmentIntervals[0] = end - start;
+            this.mSegmentIntervals[1] = this.mPathLength;
+            this.mSegmentEffect = new DashPathEffect(
+                    this.mSegmentIntervals, end - 2 * start + this.mPathLength);
+
+        } else {
+            this.mSegmentEffect = null;
+            this.mSegment.reset();
+            this.mPathMeasure.getSegment(start, end, this.mSegment, true);
+        }
     }
 
     /**
@@ -122,11 +574,17 @@ public class ScCopier extends ScFeature {
         float startDistance = (this.mPathLength * this.mStartPercentage) / 100.0f;
         float endDistance = (this.mPathLength * this.mEndPercentage) / 100.0f;
 
-        // Extract the segment to draw
-        this.mSegment.reset();
-        this.mPathMeasure.getSegment(startDistance, endDistance, this.mSegment, true);
+        // Find the segment to draw or tessellate it
+        boolean isMesh = this.isMesh();
+        boolean isDash = !isMesh && this.isDash();
+        if (isMesh)
+            this.buildMesh(startDistance, endDistance);
+        else
+            this.updateSegment(startDistance, endDistance, isDash);
+        Path segment = isDash ? this.mPath : this.mSegment;
 
         // Check the listener
+        Matrix matrix = null;
         if (this.mOnDrawListener != null) {
             // Define the copy info
             CopyInfo info = new CopyInfo();
@@ -142,17 +600,21 @@ public class ScCopier extends ScFeature {
             float yCenter = this.mPathMeasure.getBounds().centerY();
 
             // Define the matrix to transform the path and the shader
-            Matrix matrix = new Matrix();
+            matrix = new Matrix();
             matrix.postScale(info.scale.x, info.scale.y);
             matrix.postTranslate(info.offset.x, info.offset.y);
             matrix.postRotate(info.rotate, xCenter, yCenter);
 
-            // Apply the matrix on the shader
-            if (this.mShader != null)
-                this.mShader.setLocalMatrix(matrix);
+            // Apply the matrix on the shader after its own transformation
+            if (this.mShader != null) {
+                Matrix local = new Matrix(this.mShaderMatrix);
+                local.postConcat(matrix);
+                this.mShader.setLocalMatrix(local);
+            }
 
-            // Apply the matrix on the segment
-            this.mSegment.transform(matrix);
+            // Apply the matrix on the segment keeping the original for the next drawing
+            segment.transform(matrix, this.mTransformedSegment);
+            segment = this.mTransformedSegment;
         }
 
         // Draw only a path segment if the canvas is not null and the painter allow to draw
@@ -162,8 +624,22 @@ public class ScCopier extends ScFeature {
             Paint clone = new Paint(this.mPaint);
             clone.setShader(this.mShader);
 
-            // Draw the segment on the canvas
-            canvas.drawPath(this.mSegment, clone);
+            // While the shader is creating in background use the first color
+            if (this.mShader == null && !isMesh && this.mColors != null && this.mColors.length > 1)
+                clone.setColor(this.mColors[0]);
+
+            // Draw the mesh or the segment on the canvas.
+            // The mesh vertices are not transformed so the canvas will take the listener matrix.
+            if (isMesh) {
+                canvas.save();
+                if (matrix != null) canvas.concat(matrix);
+                this.drawMesh(canvas, clone);
+                canvas.restore();
+
+            } else {
+                if (isDash) clone.setPathEffect(this.mSegmentEffect);
+                canvas.drawPath(segment, clone);
+            }
         }
     }
 
@@ -183,64 +659,82 @@ public class ScCopier extends ScFeature {
         if (this.mPath == null || this.mStartPercentage == this.mEndPercentage)
             return;
 
-        // Check the number of colors for create the shader if requested
-        if (this.mColors != null && this.mColors.length > 1) {
-            // Check if need to create the shader bitmap
+        // Check the number of colors for create the shader if requested.
+        // The mesh not need the shader as have the colors on the vertices.
+        if (this.mColors != null && this.mColors.length > 1 && !this.isMesh()) {
+            // Check if need to create the shader
             if (this.mForceCreateShader) {
-                // Create the bitmap
                 this.mForceCreateShader = false;
-                this.mShader = new BitmapShader(
-                        this.createColoredBitmap(),
-                        Shader.TileMode.CLAMP,
-                        Shader.TileMode.CLAMP
-                );
+                this.mShader = this.createShader();
             }
 
-        } else
+        } else {
             // Reset the shader
             this.mShader = null;
+            this.releaseBitmap();
+        }
 
         // Draw a copy
+        this.mShaderChanged = false;
         this.drawCopy(canvas);
     }
 
 
     /**
-     * Refresh the feature measure.
+     * Check if some inputs changed after the last draw or if a shader created in background is
+     * ready to be drawn.
+     *
+     * @return true if changed
+     */
+    @Override
+    public boolean isChanged() {
+        return super.isChanged() || (this.mVisible && this.mShaderChanged);
+    }
+
+    /**
+     * Give back the shader bitmap to the pool and drop its creation if still queued.
+     * The shader will be created again on the next drawing.
      */
     @Override
-    public void refresh() {
-        super.refresh();
+    public void release() {
+        this.mShader = null;
         this.mForceCreateShader = true;
+        this.releaseBitmap();
     }
 
     /**
-     * Set the current stroke colors
+     * The shader bitmap depends by the path, the colors and the stroke so create it again only
+     * if one of these inputs changed. The limits only decide the segment to draw.
      *
-     * @param value the new stroke colors
+     * @param changes the changed flags
      */
     @Override
-    public void setColors(int... value) {
-        // Check if value is changed
-        if (!Arrays.equals(this.mColors, value)) {
+    protected void onRefresh(int changes) {
+        if ((changes & (ScFeature.CHANGED_PATH | ScFeature.CHANGED_COLORS |
+                ScFeature.CHANGED_COLORS_MODE | ScFeature.CHANGED_PAINT |
+                ScFeature.CHANGED_SETTINGS)) != 0) {
             this.mForceCreateShader = true;
-            super.setColors(value);
+            this.mMeshMustBeRebuilt = true;
+            this.mSegmentMustBeRebuilt = true;
         }
     }
 
+
     /**
-     * Set the colors filling mode.
-     * You can have to way for draw the colors of the path: SOLID or GRADIENT.
+     * The colored bitmap shader have problem on the hardware accelerated canvas so the copier
+     * is compatible only when draw with a single color or with a native gradient.
      *
-     * @param value the new color filling mode
+     * @return true if compatible
      */
     @Override
-    public void setColorsMode(ColorsMode value) {
-        // Check if value is changed
-        if (this.mColorsMode != value) {
-            this.mForceCreateShader = true;
-            super.setColorsMode(value);
-        }
+    public boolean isHardwareCompatible() {
+        // The vertices are supported by the hardware acceleration only starting from
+        // Android Q (API 29), not defined by the compile SDK.
+        if (this.isMesh()) return Build.VERSION.SDK_INT >= 29;
+
+        // Shader
+        return this.mColors == null || this.mColors.length <= 1 ||
+                this.mPathMeasure.getGeometry() != null;
     }
 
 
@@ -263,6 +757,145 @@ public class ScCopier extends ScFeature {
     }
 
 
+    /****************************************************************************************
+     * Colored bitmap task
+     */
+
+    /**
+     * The snapshot of the inputs needed to create the colored bitmap.
+     * The bitmap can be created on the current thread or in background and, in this last case,
+     * the result is given back to the copier on the main thread.
+     */
+    private static class ColoredBitmapTask implements Runnable {
+
+        private ScCopier copier;
+        private int generation;
+
+        private int width;
+        private int height;
+        private Bitmap.Config config;
+        private Paint paint;
+        private float length;
+        private float[] points;
+        private int[] colors;
+
+        /**
+         * Create the colored bitmap drawing a point for each pixel of the path.
+         *
+         * @return the bitmap
+         */
+        private Bitmap createBitmap() {
+            // Create the bitmap and retrieve the canvas where draw
+            Bitmap bitmap = ScBitmapPool.acquire(this.width, this.height, this.config);
+            Canvas canvas = new Canvas(bitmap);
+
+            // Hold if a rounded stroke
+            boolean isRoundedStroke = this.paint.getStrokeCap() == Paint.Cap.ROUND;
+            float halfStroke = this.paint.getStrokeWidth() / 2;
+
+            // Cycle all points of the path
+            for (int distance = 0; distance < this.colors.length; distance++) {
+                // Get the point structure
+                int index = distance * 3;
+
+                // Trigger for index position
+                boolean isFirstOrLast = distance == 0 || distance == this.length - 1;
+
+                // Set the current painter color and stroke
+                this.paint.setColor(this.colors[distance]);
+                this.paint.setStrokeCap(
+                        isRoundedStroke && isFirstOrLast ? Paint.Cap.ROUND : Paint.Cap.BUTT);
+
+                // If the round stroke is not settled the point have a square shape.
+                // This can create a visual issue when the path follow a curve.
+                // To avoid this issue the point (square) will be rotate of the tangent angle
+                // before to write it on the canvas.
+                canvas.save();
+                canvas.rotate((float) Math.toDegrees(this.points[index + 2]),
+                        this.points[index], this.points[index + 1]);
+                canvas.drawPoint(this.points[index] + halfStroke, this.points[index + 1], this.paint);
+                canvas.restore();
+            }
+
+            // Return the new bitmap
+            return bitmap;
+        }
+
+        /**
+         * Create the bitmap in background and give it back on the main thread.
+         */
+        @Override
+        public void run() {
+            final Bitmap bitmap = this.createBitmap();
+            ScCopier.sHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    ColoredBitmapTask.this.copier.onColoredBitmapReady(
+                            ColoredBitmapTask.this.generation, bitmap);
+                }
+            });
+        }
+
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Return the current render mode.
+     *
+     * @return the render mode
+     */
+    @SuppressWarnings("unused")
+    public RenderModes getRenderMode() {
+        return this.mRenderMode;
+    }
+
+    /**
+     * Set the render mode.
+     * The mesh mode draw the stroke with butt caps and is hardware accelerated only starting
+     * from Android Q.
+     *
+     * @param value the render mode
+     */
+    @SuppressWarnings("unused")
+    public void setRenderMode(RenderModes value) {
+        if (value == null) value = RenderModes.SHADER;
+        if (this.mRenderMode == value) return;
+        this.mRenderMode = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+        this.hardwareCompatibilityChanged();
+    }
+
+    /**
+     * Return the current segment mode.
+     *
+     * @return the segment mode
+     */
+    @SuppressWarnings("unused")
+    public SegmentModes getSegmentMode() {
+        return this.mSegmentMode;
+    }
+
+    /**
+     * Set the segment mode.
+     * The dash mode avoid to extract the segment from the path when the limits change, as
+     * when animate a progress. Is used only when the path have one contour, is drawn by stroke
+     * and the painter have no other path effect, otherwise the segment is extracted.
+     *
+     * @param value the segment mode
+     */
+    @SuppressWarnings("unused")
+    public void setSegmentMode(SegmentModes value) {
+        if (value == null) value = SegmentModes.EXTRACT;
+        if (this.mSegmentMode == value) return;
+        this.mSegmentMode = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+
     /****************************************************************************************
      * Listeners and Interfaces
      */
@@ -282,6 +915,16 @@ public class ScCopier extends ScFeature {
 
     }
 
+    /**
+     * Check if the draw listener is linked.
+     *
+     * @return true if have a listener
+     */
+    @Override
+    protected boolean hasOnDrawListener() {
+        return this.mOnDrawListener != null;
+    }
+
     /**
      * Set the draw listener to call.
      *
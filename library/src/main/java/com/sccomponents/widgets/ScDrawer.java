@@ -2,7 +2,9 @@ package com.sccomponents.widgets;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Path;
 import android.graphics.PointF;
@@ -24,7 +26,7 @@ import java.util.List;
  * @version 1.0.3
  * @since 2016-05-26
  */
-public abstract class ScDrawer extends ScWidget {
+public abstract class ScDrawer extends ScWidget implements ScFeature.OnInvalidateListener {
 
     /****************************************************************************************
      * Enumerators
@@ -57,6 +59,7 @@ public abstract class ScDrawer extends ScWidget {
 
     protected Path mPath;
     protected ScPathMeasure mPathMeasure;
+    protected ScPathGeometry mGeometry;
 
     protected RectF mDrawArea;
     protected RectF mVirtualArea;
@@ -72,11 +75,25 @@ public abstract class ScDrawer extends ScWidget {
     private int mMaximumHeight;
 
     private Path mCopyPath;
+    private ScPathGeometry mCopyGeometry;
+    private ScPathMeasure mCopyPathMeasure;
+    private Matrix mCopyMatrix;
+    private boolean mCopyPathMustBeRefresh;
+
+    private FillingMode mCopyFillingMode;
+    private float mCopyScaleX;
+    private float mCopyScaleY;
+    private float mCopyOffsetX;
+    private float mCopyOffsetY;
 
     private boolean mRecognizePathTouch;
     private float mPathTouchThreshold;
     private boolean mPathIsTouched;
 
+    private boolean mLayerCaching;
+    private List<Layer> mLayers;
+    private List<ScFeature> mLayerRun;
+
     private OnPathTouchListener mOnPathTouchListener;
 
 
@@ -122,6 +139,22 @@ public abstract class ScDrawer extends ScWidget {
     @SuppressWarnings("unused")
     protected abstract Path createPath(int width, int height);
 
+    /**
+     * Create the closed form of the path to draw.
+     * Override this method when the path created have a simple shape that can be described by a
+     * geometry: all the measures will be calculated by it instead of sampling the path.
+     * The geometry must describe exactly the path returned by the createPath method with the
+     * same dimensions.
+     *
+     * @param width  the drawing area width
+     * @param height the drawing area height
+     * @return the path geometry or null if the path must be sampled
+     */
+    @SuppressWarnings("unused")
+    protected ScPathGeometry createGeometry(int width, int height) {
+        return null;
+    }
+
 
     /****************************************************************************************
      * Privates methods
@@ -179,7 +212,13 @@ public abstract class ScDrawer extends ScWidget {
         this.checkValues();
         this.mPathMeasure = new ScPathMeasure();
         this.mCopyPath = new Path();
+        this.mCopyPathMeasure = new ScPathMeasure();
+        this.mCopyMatrix = new Matrix();
+        this.mCopyPathMustBeRefresh = true;
         this.mFeaturesMustBeRefresh = true;
+
+        this.mLayers = new ArrayList<>();
+        this.mLayerRun = new ArrayList<>();
     }
 
     /**
@@ -259,22 +298,44 @@ public abstract class ScDrawer extends ScWidget {
     }
 
     /**
-     * Fix the scales of the path by filling mode settings.
+     * Create a copy of the original path scaled and after translated.
+     * The copy is created again only if the original path was re-created or if the filling
+     * mode or the transformation values are changed. In this case the features must refresh.
+     * Otherwise the last copy is still valid and nothing will be done.
      *
-     * @param source the source path
-     * @param xScale the horizontal scale
-     * @param yScale the vertical scale
+     * @param xScale  the horizontal scale
+     * @param yScale  the vertical scale
+     * @param xOffset the horizontal offset
+     * @param yOffset the vertical offset
      */
-    private void scalePath(Path source, float xScale, float yScale) {
-        // Check for empty value
-        if (source == null) return;
+    private void transformCopyPath(float xScale, float yScale, float xOffset, float yOffset) {
+        // Check if the last copy is still valid
+        if (!this.mCopyPathMustBeRefresh && this.mCopyFillingMode == this.mFillingMode &&
+                this.mCopyScaleX == xScale && this.mCopyScaleY == yScale &&
+                this.mCopyOffsetX == xOffset && this.mCopyOffsetY == yOffset)
+            return;
+
+        // Hold the current settings
+        this.mCopyPathMustBeRefresh = false;
+        this.mCopyFillingMode = this.mFillingMode;
+        this.mCopyScaleX = xScale;
+        this.mCopyScaleY = yScale;
+        this.mCopyOffsetX = xOffset;
+        this.mCopyOffsetY = yOffset;
 
-        // Create a matrix and apply the new scale
-        Matrix matrix = new Matrix();
-        matrix.postScale(xScale, yScale);
+        // Create a copy of the original path because need to move the offset or scale the
+        // path and not want lost the original one values.
+        this.mCopyPath.set(this.mPath);
+        this.mCopyMatrix.setScale(xScale, yScale);
+        this.mCopyMatrix.postTranslate(xOffset, yOffset);
+        this.mCopyPath.transform(this.mCopyMatrix);
+
+        // Apply the same transformation to the geometry if needed
+        this.mCopyGeometry = this.mGeometry == null ? null :
+                this.mGeometry.transform(xScale, yScale, xOffset, yOffset);
 
-        // Apply the scale
-        source.transform(matrix);
+        // The path is changed so the features must refresh
+        this.mFeaturesMustBeRefresh = true;
     }
 
     /**
@@ -298,6 +359,82 @@ public abstract class ScDrawer extends ScWidget {
     }
 
 
+    /****************************************************************************************
+     * Layers
+     */
+
+    /**
+     * A cached bitmap holding the drawing of a run of consecutive static features.
+     */
+    private static class Layer {
+
+        private Bitmap bitmap;
+        private Canvas canvas;
+        private List<ScFeature> features = new ArrayList<>();
+
+    }
+
+    /**
+     * Release all the cached layers.
+     */
+    private void releaseLayers() {
+        // Give back all bitmaps to the pool and clear the list
+        for (Layer layer : this.mLayers)
+            ScBitmapPool.release(layer.bitmap);
+        this.mLayers.clear();
+    }
+
+    /**
+     * Draw the current run of static features on the canvas through its cached layer.
+     * The layer bitmap is drawn again only if the run is changed, if one of its features have
+     * some changed inputs, if the path changed or if the view dimensions changed.
+     * Each run have its own layer to keep the features drawing order.
+     *
+     * @param canvas the canvas where draw
+     * @param index  the layer index
+     * @return the next layer index
+     */
+    private int drawLayer(Canvas canvas, int index) {
+        // Check for empty values
+        if (this.mLayerRun.isEmpty()) return index;
+
+        // Get the layer or create a new one
+        if (index == this.mLayers.size()) this.mLayers.add(new Layer());
+        Layer layer = this.mLayers.get(index);
+
+        // Check if the bitmap must be created again
+        boolean mustBeDrawn = this.mFeaturesMustBeRefresh || !layer.features.equals(this.mLayerRun);
+        if (layer.bitmap == null ||
+                layer.bitmap.getWidth() != this.getWidth() || layer.bitmap.getHeight() != this.getHeight()) {
+            // Create the bitmap
+            ScBitmapPool.release(layer.bitmap);
+            layer.bitmap = ScBitmapPool.acquire(
+                    this.getWidth(), this.getHeight(), Bitmap.Config.ARGB_8888);
+            layer.canvas = new Canvas(layer.bitmap);
+            mustBeDrawn = true;
+        }
+
+        // Check if some features changed
+        for (int feature = 0; !mustBeDrawn && feature < this.mLayerRun.size(); feature++)
+            mustBeDrawn = this.mLayerRun.get(feature).isChanged();
+
+        // Draw the features on the layer
+        if (mustBeDrawn) {
+            layer.bitmap.eraseColor(Color.TRANSPARENT);
+            for (ScFeature feature : this.mLayerRun)
+                feature.draw(layer.canvas);
+
+            layer.features.clear();
+            layer.features.addAll(this.mLayerRun);
+        }
+
+        // Draw the layer and reset the run
+        canvas.drawBitmap(layer.bitmap, 0, 0, null);
+        this.mLayerRun.clear();
+        return index + 1;
+    }
+
+
     /****************************************************************************************
      * Draw methods
      */
@@ -310,18 +447,50 @@ public abstract class ScDrawer extends ScWidget {
     private void drawFeatures(Canvas canvas) {
         // Check for empty values
         if (this.mFeatures != null) {
+            // If the path changed measure the copy once for all the features
+            if (this.mFeaturesMustBeRefresh)
+                this.mCopyPathMeasure.setPath(this.mCopyPath, false, this.mCopyGeometry);
+
+            // The layers can be used only if the path is drawn directly on the view canvas
+            boolean caching = this.mLayerCaching && this.mFillingMode == FillingMode.DRAW &&
+                    this.getWidth() > 0 && this.getHeight() > 0;
+            int layer = 0;
+
             // Cycle all features
             for (ScFeature feature : this.mFeatures) {
                 // Check for empty value
                 if (feature != null) {
-                    // Check if need to refresh
+                    // Check if need to refresh.
+                    // The features that draw on the copy path share the same measure and not
+                    // need to measure the path again.
+                    // Sharing the measure the first time already refresh the feature.
                     if (this.mFeaturesMustBeRefresh) {
-                        feature.refresh();
+                        if (feature.getPath() == this.mCopyPath &&
+                                feature.getPathMeasure() != this.mCopyPathMeasure)
+                            feature.setPathMeasure(this.mCopyPathMeasure);
+                        else
+                            feature.refresh();
+                    }
+
+                    // The static features are collected in a run to draw inside a cached layer
+                    if (caching && feature.isCacheable()) {
+                        this.mLayerRun.add(feature);
+                        continue;
                     }
+
                     //Call the draw methods.
+                    layer = this.drawLayer(canvas, layer);
                     feature.draw(canvas);
                 }
             }
+
+            // Draw the last run and release the layers not used anymore
+            layer = this.drawLayer(canvas, layer);
+            while (this.mLayers.size() > layer) {
+                Layer unused = this.mLayers.remove(this.mLayers.size() - 1);
+                ScBitmapPool.release(unused.bitmap);
+            }
+
             // Trigger
             this.mFeaturesMustBeRefresh = false;
         }
@@ -335,13 +504,10 @@ public abstract class ScDrawer extends ScWidget {
      * @param yOffset the vertical offset
      */
     private void setForDraw(Canvas canvas, float xOffset, float yOffset) {
-        // Create a copy of the original path because need to move the offset or scale the
-        // path and not want lost the original one values.
-        this.mCopyPath.set(this.mPath);
-        this.scalePath(this.mCopyPath, this.mAreaScale.x, this.mAreaScale.y);
-        this.mCopyPath.offset(
-                xOffset + this.getPaddingLeft(),
-                yOffset + this.getPaddingTop()
+        // Update the copy of the original path scaling and moving it
+        this.transformCopyPath(
+                this.mAreaScale.x, this.mAreaScale.y,
+                xOffset + this.getPaddingLeft(), yOffset + this.getPaddingTop()
         );
 
         // Draw the features
@@ -361,12 +527,10 @@ public abstract class ScDrawer extends ScWidget {
         canvas.translate(this.getPaddingLeft(), this.getPaddingTop());
         canvas.scale(this.mAreaScale.x, this.mAreaScale.y);
 
-        // Create a copy of the original path because need to move the offset or scale the
-        // path and not want lost the original one values.
-        this.mCopyPath.set(this.mPath);
-        this.mCopyPath.offset(
-                -this.mPathMeasure.getBounds().left,
-                -this.mPathMeasure.getBounds().top
+        // Update the copy of the original path moving it on the origin
+        this.transformCopyPath(
+                1.0f, 1.0f,
+                -this.mPathMeasure.getBounds().left, -this.mPathMeasure.getBounds().top
         );
 
         // Draw all features
@@ -424,12 +588,15 @@ public abstract class ScDrawer extends ScWidget {
         int width = View.getDefaultSize(this.getSuggestedMinimumWidth(), widthMeasureSpec);
         int height = View.getDefaultSize(this.getSuggestedMinimumHeight(), heightMeasureSpec);
 
-        // Force to re-create the path passing the real dimensions to draw and get the measurer
+        // Force to re-create the path passing the real dimensions to draw and get the measurer.
+        // If the path have a closed form the measurer will use it instead of sampling the path.
         this.mPath = this.createPath(width - widthGlobalPadding, height - heightGlobalPadding);
-        this.mPathMeasure.setPath(this.mPath, false);
+        this.mGeometry = this.createGeometry(width - widthGlobalPadding, height - heightGlobalPadding);
+        this.mPathMeasure.setPath(this.mPath, false, this.mGeometry);
 
-        // The path could be changed so I must force the feattures to refresh the path info.
-        this.mFeaturesMustBeRefresh = true;
+        // The path could be changed so I must force to create again the path copy and the
+        // features will refresh the path info.
+        this.mCopyPathMustBeRefresh = true;
 
         // If have some dimension to wrap will use the path boundaries for have the right
         // dimension summed to the global padding.
@@ -453,6 +620,20 @@ public abstract class ScDrawer extends ScWidget {
         this.setMeasuredDimension(width, height);
     }
 
+    /**
+     * Release the cached layers and the features resources when the view is detached.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        this.releaseLayers();
+
+        // Release the features
+        if (this.mFeatures != null)
+            for (ScFeature feature : this.mFeatures)
+                if (feature != null) feature.release();
+    }
+
     /**
      * On touch management
      *
@@ -612,6 +793,7 @@ public abstract class ScDrawer extends ScWidget {
         if (!this.mFeatures.contains(feature)) {
             // Add the feature and refresh the component
             this.mFeatures.add(feature);
+            feature.setOnInvalidateListener(this);
             this.forceLayout();
             this.invalidate();
         }
@@ -658,6 +840,7 @@ public abstract class ScDrawer extends ScWidget {
         if (this.mFeatures != null && this.mFeatures.contains(feature)) {
             // Remove and return true
             boolean result = this.mFeatures.remove(feature);
+            feature.setOnInvalidateListener(null);
             this.forceLayout();
             this.invalidate();
             return result;
@@ -674,12 +857,39 @@ public abstract class ScDrawer extends ScWidget {
         // Check if the feature list contain this
         if (this.mFeatures != null) {
             // Remove all and refresh the component
+            for (ScFeature feature : this.mFeatures)
+                if (feature != null) feature.setOnInvalidateListener(null);
             this.mFeatures.clear();
             this.forceLayout();
             this.invalidate();
         }
     }
 
+    /**
+     * Find all features that, with the current settings, cannot be drawn on a hardware
+     * accelerated canvas.
+     *
+     * @return the incompatible features
+     */
+    @SuppressWarnings("unused")
+    public List<ScFeature> findHardwareIncompatibleFeatures() {
+        // Holder
+        List<ScFeature> founds = new ArrayList<>();
+
+        // Check for empty value
+        if (this.mFeatures != null) {
+            // Cycle all features
+            for (ScFeature feature : this.mFeatures) {
+                // Check the compatibility
+                if (feature != null && feature.getVisible() && !feature.isHardwareCompatible())
+                    founds.add(feature);
+            }
+        }
+
+        // Return the list
+        return founds;
+    }
+
     /**
      * Find all features that corresponds to a class and tag reference.
      * If the class reference is null the class will be not consider.
@@ -795,6 +1005,27 @@ public abstract class ScDrawer extends ScWidget {
         }
     }
 
+    /**
+     * Called by the features when need to be drawn again.
+     *
+     * @param feature the source feature
+     */
+    @Override
+    public void onInvalidate(ScFeature feature) {
+        this.invalidate();
+    }
+
+    /**
+     * Called by the features when their hardware acceleration compatibility could be changed.
+     * The drawer not manage the layer type so nothing to do by default.
+     *
+     * @param feature the source feature
+     */
+    @Override
+    public void onHardwareCompatibilityChange(ScFeature feature) {
+        // To implement
+    }
+
 
     /****************************************************************************************
      * User input interface
@@ -870,6 +1101,37 @@ public abstract class ScDrawer extends ScWidget {
         }
     }
 
+    /**
+     * Get if the layer caching is enabled.
+     *
+     * @return true if enabled
+     */
+    @SuppressWarnings("unused")
+    public boolean getLayerCaching() {
+        return this.mLayerCaching;
+    }
+
+    /**
+     * Enable the layer caching.
+     * When enabled the static features (see ScFeature.setStatic) are drawn once inside a
+     * cached bitmap and drawn again only when their inputs or the path change.
+     * Each run of consecutive static features have its own bitmap to keep the drawing order.
+     * The caching works only with the FillingMode.DRAW mode and use a view sized bitmap for
+     * each run so consider the memory before enable it.
+     *
+     * @param value true to enable
+     */
+    @SuppressWarnings("unused")
+    public void setLayerCaching(boolean value) {
+        // Check if value is changed
+        if (this.mLayerCaching != value) {
+            // Store the new value and refresh the component
+            this.mLayerCaching = value;
+            if (!value) this.releaseLayers();
+            this.invalidate();
+        }
+    }
+
     /**
      * Get the current area filling mode.
      * This setting tell to the class how drawing the path on canvas:
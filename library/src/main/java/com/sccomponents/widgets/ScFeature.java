@@ -4,7 +4,11 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.PathEffect;
 import android.graphics.PointF;
+import android.graphics.Typeface;
+
+import java.util.Arrays;
 
 /**
  * Create a feature to draw on a given path.
@@ -41,12 +45,34 @@ public class ScFeature {
     }
 
 
+    /****************************************************************************************
+     * Constants
+     */
+
+    /**
+     * The flags of the feature inputs that can change.
+     * Passed to the onRefresh method to know what derived state must be calculated again.
+     */
+    public static final int CHANGED_PATH = 1;
+    public static final int CHANGED_COLORS = 2;
+    public static final int CHANGED_COLORS_MODE = 4;
+    public static final int CHANGED_PAINT = 8;
+    public static final int CHANGED_LIMITS = 16;
+    public static final int CHANGED_SETTINGS = 32;
+    public static final int CHANGED_RULES = 64;
+    public static final int CHANGED_ALL = 127;
+
+    private static final float COLORS_TABLE_STEP = 1.0f;
+
+
     /****************************************************************************************
      * Privates and protected variable
      */
 
     protected Path mPath;
     protected ScPathMeasure mPathMeasure;
+    protected ScPathGeometry mGeometry;
+    protected boolean mSharedPathMeasure;
     protected float mPathLength;
 
     protected Paint mPaint;
@@ -55,10 +81,29 @@ public class ScFeature {
 
     protected String mTag;
     protected boolean mVisible;
+    protected boolean mStatic;
+    protected ScRule[] mRules;
 
     protected float mStartPercentage;
     protected float mEndPercentage;
 
+    private int mChanges;
+    private boolean mDrawnVisible;
+    private OnInvalidateListener mOnInvalidateListener;
+
+    private int[] mColorsTable;
+    private int mColorsTableSize;
+    private boolean mColorsTableMustBeRebuilt;
+
+    private int mPaintColor;
+    private float mPaintStrokeWidth;
+    private Paint.Cap mPaintStrokeCap;
+    private Paint.Style mPaintStyle;
+    private float mPaintTextSize;
+    private Paint.Align mPaintTextAlign;
+    private Typeface mPaintTypeface;
+    private PathEffect mPaintPathEffect;
+
 
     /****************************************************************************************
      * Constructor
@@ -84,6 +129,114 @@ public class ScFeature {
         this.mPaint.setStyle(Paint.Style.STROKE);
         this.mPaint.setColor(Color.BLACK);
         this.mPaint.setAntiAlias(true);
+
+        // All the derived state must be calculated
+        this.mChanges = ScFeature.CHANGED_ALL;
+    }
+
+
+    /****************************************************************************************
+     * Private methods
+     */
+
+    /**
+     * Calculate the gradient color at the passed ratio of the path length.
+     * The color are considered in all their channels, alpha included.
+     *
+     * @param ratio the ratio between 0 and 1
+     * @return the color
+     */
+    private int calculateGradientColor(float ratio) {
+        // Check the limits
+        if (ratio <= 0.0f) return this.mColors[0];
+        if (ratio >= 1.0f) return this.mColors[this.mColors.length - 1];
+
+        // Check the case
+        switch (this.mColorsMode) {
+            case SOLID:
+                // Find the sector
+                int sector = (int) (ratio * this.mColors.length);
+                if (sector > this.mColors.length - 1) sector = this.mColors.length - 1;
+                return this.mColors[sector];
+
+            case GRADIENT:
+                // Calculation of the right ratio by the current sector
+                float position = ratio * (this.mColors.length - 1);
+                int start = (int) position;
+                if (start > this.mColors.length - 2) start = this.mColors.length - 2;
+                float local = position - start;
+
+                // Get the color to mix
+                int startColor = this.mColors[start];
+                int endColor = this.mColors[start + 1];
+
+                // Calculate the result color
+                int alpha = (int) (Color.alpha(endColor) * local + Color.alpha(startColor) * (1 - local));
+                int red = (int) (Color.red(endColor) * local + Color.red(startColor) * (1 - local));
+                int green = (int) (Color.green(endColor) * local + Color.green(startColor) * (1 - local));
+                int blue = (int) (Color.blue(endColor) * local + Color.blue(startColor) * (1 - local));
+
+                // Get the color
+                return Color.argb(alpha, red, green, blue);
+
+            default:
+                return Color.BLACK;
+        }
+    }
+
+    /**
+     * Build the colors lookup table.
+     * The table have one entry for each step of the path length and cover the ratios from 0
+     * to 1, so can serve any length. It will be rebuilt only if the colors, the colors mode or
+     * the path length are changed.
+     *
+     * @param length the length to use if the path length is not defined
+     */
+    private void buildColorsTable(float length) {
+        // Find the table size
+        float reference = this.mPathLength > 0.0f ? this.mPathLength : length;
+        int size = Math.max(2, (int) Math.ceil(reference / ScFeature.COLORS_TABLE_STEP) + 1);
+
+        // Check if the table is still valid
+        if (!this.mColorsTableMustBeRebuilt && this.mColorsTableSize == size) return;
+        this.mColorsTableMustBeRebuilt = false;
+        this.mColorsTableSize = size;
+
+        // Fill the table
+        if (this.mColorsTable == null || this.mColorsTable.length < size)
+            this.mColorsTable = new int[size];
+        for (int index = 0; index < size; index++)
+            this.mColorsTable[index] = this.calculateGradientColor((float) index / (size - 1));
+    }
+
+    /**
+     * Compare the painter settings with the last ones seen.
+     * As the painter can be modified directly from outside the changes can be found only by
+     * comparison.
+     */
+    private void checkPaint() {
+        // Check if something changed
+        if (this.mPaint == null) return;
+        if (this.mPaintColor == this.mPaint.getColor() &&
+                this.mPaintStrokeWidth == this.mPaint.getStrokeWidth() &&
+                this.mPaintStrokeCap == this.mPaint.getStrokeCap() &&
+                this.mPaintStyle == this.mPaint.getStyle() &&
+                this.mPaintTextSize == this.mPaint.getTextSize() &&
+                this.mPaintTextAlign == this.mPaint.getTextAlign() &&
+                this.mPaintTypeface == this.mPaint.getTypeface() &&
+                this.mPaintPathEffect == this.mPaint.getPathEffect())
+            return;
+
+        // Hold the new settings
+        this.mPaintColor = this.mPaint.getColor();
+        this.mPaintStrokeWidth = this.mPaint.getStrokeWidth();
+        this.mPaintStrokeCap = this.mPaint.getStrokeCap();
+        this.mPaintStyle = this.mPaint.getStyle();
+        this.mPaintTextSize = this.mPaint.getTextSize();
+        this.mPaintTextAlign = this.mPaint.getTextAlign();
+        this.mPaintTypeface = this.mPaint.getTypeface();
+        this.mPaintPathEffect = this.mPaint.getPathEffect();
+        this.mChanges |= ScFeature.CHANGED_PAINT;
     }
 
 
@@ -101,6 +254,90 @@ public class ScFeature {
         // To implement
     }
 
+    /**
+     * Called before draw when some of the feature inputs changed.
+     * Override this method in the inherited classes to calculate again only the derived state
+     * that depends by the changed inputs.
+     *
+     * @param changes the changed flags
+     */
+    @SuppressWarnings("unused")
+    protected void onRefresh(int changes) {
+        // To implement
+    }
+
+    /**
+     * Check if the feature have a draw listener linked.
+     * Override this method in the inherited classes that expose a draw listener.
+     *
+     * @return true if have a listener
+     */
+    @SuppressWarnings("unused")
+    protected boolean hasOnDrawListener() {
+        return false;
+    }
+
+    /**
+     * Mark some inputs of the feature as changed.
+     * The derived state will be calculated again before the next draw.
+     *
+     * @param changes the changed flags
+     */
+    @SuppressWarnings("unused")
+    protected void setChanged(int changes) {
+        this.mChanges |= changes;
+    }
+
+    /**
+     * Find the last rule that select the element and define the property.
+     *
+     * @param index      the element index
+     * @param percentage the element position in percentage of the path length
+     * @param property   the property flag
+     * @return the rule or null if not found
+     */
+    @SuppressWarnings("unused")
+    protected ScRule findRule(int index, float percentage, int property) {
+        // Check for empty values
+        if (this.mRules == null) return null;
+
+        // Search from the last rule
+        for (int rule = this.mRules.length - 1; rule >= 0; rule--)
+            if (this.mRules[rule].isDefined(property) && this.mRules[rule].contains(index, percentage))
+                return this.mRules[rule];
+        return null;
+    }
+
+    /**
+     * Request a new drawing to the owner of the feature.
+     * Used when some state, as a bitmap generated in background, is ready after the drawing.
+     */
+    @SuppressWarnings("unused")
+    protected void invalidate() {
+        if (this.mOnInvalidateListener != null)
+            this.mOnInvalidateListener.onInvalidate(this);
+    }
+
+    /**
+     * Notify the owner that the hardware acceleration compatibility could be changed.
+     * Call this method from the setters of the settings used by isHardwareCompatible.
+     */
+    @SuppressWarnings("unused")
+    protected void hardwareCompatibilityChanged() {
+        if (this.mOnInvalidateListener != null)
+            this.mOnInvalidateListener.onHardwareCompatibilityChange(this);
+    }
+
+    /**
+     * Check if the feature have an owner that can be requested for a new drawing.
+     *
+     * @return true if have a listener
+     */
+    @SuppressWarnings("unused")
+    protected boolean hasOnInvalidateListener() {
+        return this.mOnInvalidateListener != null;
+    }
+
 
     /****************************************************************************************
      * Public and static methods
@@ -113,25 +350,92 @@ public class ScFeature {
      */
     @SuppressWarnings("unused")
     public void draw(Canvas canvas) {
-        // Check for the visibility
-        if (!this.mVisible || this.mPath == null) return;
+        // Check for the visibility.
+        // The pending changes are kept for when the feature will be visible again.
+        if (!this.mVisible || this.mPath == null) {
+            this.mDrawnVisible = false;
+            return;
+        }
+        this.mDrawnVisible = true;
 
         // If the have only one color inside the colors array set it directly on the painter
         if (this.mColors != null && this.mColors.length == 1) {
             this.mPaint.setColor(this.mColors[0]);
         }
 
+        // Calculate again only the derived state affected by the changed inputs
+        this.checkPaint();
+        if (this.mChanges != 0) {
+            int changes = this.mChanges;
+            this.mChanges = 0;
+            this.onRefresh(changes);
+        }
+
         // Call the base onDraw method
         this.onDraw(canvas);
     }
 
+    /**
+     * Check if some inputs of the feature changed after the last draw.
+     * An invisible feature is changed only if it was visible on the last draw, so it need to
+     * be erased once.
+     *
+     * @return true if changed
+     */
+    @SuppressWarnings("unused")
+    public boolean isChanged() {
+        // Check for the visibility
+        if (!this.mVisible || this.mPath == null) return this.mDrawnVisible;
+
+        // Check the inputs
+        this.checkPaint();
+        return this.mChanges != 0;
+    }
+
+    /**
+     * Check if the feature, with the current settings, can be drawn on a hardware accelerated
+     * canvas. Override this method in the inherited classes that use drawing operations not
+     * supported by the hardware acceleration.
+     *
+     * @return true if compatible
+     */
+    @SuppressWarnings("unused")
+    public boolean isHardwareCompatible() {
+        return true;
+    }
+
+    /**
+     * Check if the feature drawing can be cached.
+     * Only the static features without a draw listener are cacheable as the listener can
+     * change the drawing on every call.
+     *
+     * @return true if cacheable
+     */
+    @SuppressWarnings("unused")
+    public boolean isCacheable() {
+        return this.mStatic && !this.hasOnDrawListener();
+    }
+
     /**
      * Refresh the feature measure.
+     * If the measure is shared it is already updated by its owner.
      */
     @SuppressWarnings("unused")
     public void refresh() {
-        this.mPathMeasure.setPath(this.mPath, false);
+        if (!this.mSharedPathMeasure)
+            this.mPathMeasure.setPath(this.mPath, false, this.mGeometry);
         this.mPathLength = this.mPathMeasure.getLength();
+        this.mChanges |= ScFeature.CHANGED_PATH;
+    }
+
+    /**
+     * Release the resources held by the feature, as the bitmaps.
+     * Called when the drawer is detached from the window, the resources will be created again
+     * on the next drawing if needed.
+     */
+    @SuppressWarnings("unused")
+    public void release() {
+        // Nothing to release by default
     }
 
     /**
@@ -240,15 +544,23 @@ public class ScFeature {
      */
     @SuppressWarnings("unused")
     public void setLimits(float start, float end) {
+        // Check if the values are changed
+        if (Float.isInfinite(start)) start = this.mStartPercentage;
+        if (Float.isInfinite(end)) end = this.mEndPercentage;
+        if (this.mStartPercentage == start && this.mEndPercentage == end) return;
+
         // Store the new values
-        if (!Float.isInfinite(start)) this.mStartPercentage = start;
-        if (!Float.isInfinite(end)) this.mEndPercentage = end;
+        this.mStartPercentage = start;
+        this.mEndPercentage = end;
+        this.mChanges |= ScFeature.CHANGED_LIMITS;
     }
 
     /**
      * Get the current gradient color by a ratio dependently about the distance from the
      * starting of path, the colors array and the mode to draw.
      * If the colors are not defined will be returned the current color of painter.
+     * The color is taken from a lookup table that is rebuilt only when the colors, the colors
+     * mode or the path length change.
      *
      * @param distance from the starting path
      * @param length   force the length of the path
@@ -266,40 +578,9 @@ public class ScFeature {
         if (distance >= length)
             return this.mColors[this.mColors.length - 1];
 
-        // Holder
-        int sector = (int) (distance / (length / this.mColors.length));
-
-        // Check sector limits
-        if (sector < 0) sector = 0;
-        if (sector > this.mColors.length - 1) sector = this.mColors.length - 1;
-
-        // Check the case
-        switch (this.mColorsMode) {
-            case SOLID:
-                return this.mColors[sector];
-
-            case GRADIENT:
-                // Calculation of the right ratio by the current sector
-                float sectorLen = length / (this.mColors.length - 1);
-                sector = (int) (distance / sectorLen);
-                float normalized = distance - (sectorLen * sector);
-                float ratio = normalized / sectorLen;
-
-                // Get the color to mix
-                int startColor = this.mColors[sector];
-                int endColor = this.mColors[sector + 1];
-
-                // Calculate the result color
-                int red = (int) (Color.red(endColor) * ratio + Color.red(startColor) * (1 - ratio));
-                int green = (int) (Color.green(endColor) * ratio + Color.green(startColor) * (1 - ratio));
-                int blue = (int) (Color.blue(endColor) * ratio + Color.blue(startColor) * (1 - ratio));
-
-                // Get the color
-                return Color.rgb(red, green, blue);
-
-            default:
-                return Color.BLACK;
-        }
+        // Find the color inside the table
+        this.buildColorsTable(length);
+        return this.mColorsTable[Math.round(distance / length * (this.mColorsTableSize - 1))];
     }
 
     /**
@@ -337,6 +618,68 @@ public class ScFeature {
     @SuppressWarnings("unused")
     public void setPainter(Paint value) {
         this.mPaint = value;
+        this.mChanges |= ScFeature.CHANGED_PAINT;
+    }
+
+    /**
+     * Return the path where the feature draw
+     *
+     * @return the path
+     */
+    @SuppressWarnings("unused")
+    public Path getPath() {
+        return this.mPath;
+    }
+
+    /**
+     * Get the closed form of the path
+     *
+     * @return the geometry, null if the path is sampled
+     */
+    @SuppressWarnings("unused")
+    public ScPathGeometry getGeometry() {
+        return this.mGeometry;
+    }
+
+    /**
+     * Set the closed form of the path.
+     * The geometry must describe exactly the feature path and will be used on the next refresh
+     * instead of sampling the path.
+     *
+     * @param value the geometry
+     */
+    @SuppressWarnings("unused")
+    public void setGeometry(ScPathGeometry value) {
+        this.mGeometry = value;
+    }
+
+    /**
+     * Get the path measure
+     *
+     * @return the path measure
+     */
+    @SuppressWarnings("unused")
+    public ScPathMeasure getPathMeasure() {
+        return this.mPathMeasure;
+    }
+
+    /**
+     * Share a path measure already done on the feature path.
+     * The shared measure is considered read only: the feature will never measure it again and
+     * the owner must keep it updated. Passing null the feature come back to measure the path
+     * by itself.
+     *
+     * @param value the shared path measure
+     */
+    @SuppressWarnings("unused")
+    public void setPathMeasure(ScPathMeasure value) {
+        // Check if the value is changed
+        if (value == null ? !this.mSharedPathMeasure : value == this.mPathMeasure) return;
+
+        // Use the shared measure or create a new own one
+        this.mSharedPathMeasure = value != null;
+        this.mPathMeasure = value != null ? value : new ScPathMeasure();
+        this.refresh();
     }
 
     /**
@@ -376,7 +719,35 @@ public class ScFeature {
      */
     @SuppressWarnings("unused")
     public void setVisible(boolean value) {
+        // Check if the value is changed
+        if (this.mVisible == value) return;
+
+        // Store the new value
         this.mVisible = value;
+        this.mChanges |= ScFeature.CHANGED_SETTINGS;
+        this.hardwareCompatibilityChanged();
+    }
+
+    /**
+     * Get if the feature is static.
+     *
+     * @return true if static
+     */
+    @SuppressWarnings("unused")
+    public boolean getStatic() {
+        return this.mStatic;
+    }
+
+    /**
+     * Set if the feature is static.
+     * A static feature draw always the same thing until its inputs not change so the drawer,
+     * if the layer caching is enabled, can draw it once inside a cached bitmap.
+     *
+     * @param value true if static
+     */
+    @SuppressWarnings("unused")
+    public void setStatic(boolean value) {
+        this.mStatic = value;
     }
 
     /**
@@ -396,7 +767,15 @@ public class ScFeature {
      */
     @SuppressWarnings("unused")
     public void setColors(int... value) {
+        // Check if the value is changed.
+        // The same array can be modified from outside after getColors so is always changed.
+        if (value != this.mColors && Arrays.equals(this.mColors, value)) return;
+
+        // Store the new value
         this.mColors = value;
+        this.mColorsTableMustBeRebuilt = true;
+        this.mChanges |= ScFeature.CHANGED_COLORS;
+        this.hardwareCompatibilityChanged();
     }
 
     /**
@@ -418,8 +797,76 @@ public class ScFeature {
      */
     @SuppressWarnings("unused")
     public void setColorsMode(ColorsMode value) {
-        // Store the new value and refresh the component
+        // Check if the value is changed
+        if (this.mColorsMode == value) return;
+
+        // Store the new value
         this.mColorsMode = value;
+        this.mColorsTableMustBeRebuilt = true;
+        this.mChanges |= ScFeature.CHANGED_COLORS_MODE;
+    }
+
+
+    /**
+     * Return the style rules.
+     *
+     * @return the rules
+     */
+    @SuppressWarnings("unused")
+    public ScRule[] getRules() {
+        return this.mRules == null ? new ScRule[0] : this.mRules.clone();
+    }
+
+    /**
+     * Set the style rules of the feature elements.
+     * The rules are evaluated only when settled so if a rule is changed after you must set the
+     * rules again to apply the changes.
+     * Pass null to remove all rules.
+     *
+     * @param rules the rules
+     */
+    @SuppressWarnings("unused")
+    public void setRules(ScRule... rules) {
+        this.mRules = rules == null || rules.length == 0 ? null : rules.clone();
+        this.mChanges |= ScFeature.CHANGED_RULES;
+    }
+
+
+    /****************************************************************************************
+     * Listeners and Interfaces
+     */
+
+    /**
+     * Define the invalidate listener interface
+     */
+    @SuppressWarnings("unused")
+    public interface OnInvalidateListener {
+
+        /**
+         * Called when the feature need to be drawn again.
+         *
+         * @param feature the source feature
+         */
+        void onInvalidate(ScFeature feature);
+
+        /**
+         * Called when a setting that decide the hardware acceleration compatibility changed.
+         *
+         * @param feature the source feature
+         */
+        void onHardwareCompatibilityChange(ScFeature feature);
+
+    }
+
+    /**
+     * Set the invalidate listener to call.
+     * Usually linked by the drawer that own the feature.
+     *
+     * @param listener the linked method to call
+     */
+    @SuppressWarnings("unused")
+    public void setOnInvalidateListener(OnInvalidateListener listener) {
+        this.mOnInvalidateListener = listener;
     }
 
 }
@@ -14,7 +14,6 @@ import android.view.View;
 import android.view.animation.DecelerateInterpolator;
 
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * Manage a generic gauge.
@@ -60,6 +59,7 @@ public abstract class ScGauge extends ScDrawer implements
     public static final String PROGRESS_IDENTIFIER = "ScGauge_Progress";
     public static final String HIGH_POINTER_IDENTIFIER = "ScGauge_Pointer_High";
     public static final String LOW_POINTER_IDENTIFIER = "ScGauge_Pointer_Low";
+    public static final String VALUE_POINTER_IDENTIFIER = "ScGauge_Pointer_Value";
 
 
     /****************************************************************************************
@@ -113,6 +113,7 @@ public abstract class ScGauge extends ScDrawer implements
     private PointerSelectMode mPointerSelectMode;
 
     private Boolean mRoundedLineCap;
+    private boolean mHardwareMode;
 
 
     /****************************************************************************************
@@ -126,8 +127,14 @@ public abstract class ScGauge extends ScDrawer implements
     private ValueAnimator mLowValueAnimator;
 
     private ScPointer mSelectedPointer;
+    private ScPointer[] mPointers;
+    private int mPointersCount;
+    private boolean mPointersMustBeCollected;
+    private boolean mDrawing;
+    private boolean mLayerTypeMustBeUpdated;
 
     private OnEventListener mOnEventListener;
+    private OnPointerEventListener mOnPointerEventListener;
     private OnDrawListener mOnDrawListener;
 
 
@@ -162,7 +169,20 @@ public abstract class ScGauge extends ScDrawer implements
      */
     private void featureSetter(ScFeature feature) {
         // Check for empty value
-        if (feature == null || feature.getTag() == null) return;
+        if (feature == null) return;
+
+        // Value label
+        if (feature instanceof ScValueLabel) {
+            // Cast and fill by the binding
+            ScValueLabel label = (ScValueLabel) feature;
+            if (label.getBinding() == ScValueLabel.ValueBindings.HIGH)
+                label.setValue(this.mHighValue);
+            if (label.getBinding() == ScValueLabel.ValueBindings.LOW)
+                label.setValue(this.mLowValue);
+        }
+
+        // The other features are settled only if tagged
+        if (feature.getTag() == null) return;
 
         // Hold the tag
         String tag = feature.getTag();
@@ -224,8 +244,9 @@ public abstract class ScGauge extends ScDrawer implements
         // Pointers
         boolean isHigh = tag.equalsIgnoreCase(ScGauge.HIGH_POINTER_IDENTIFIER);
         boolean isLow = tag.equalsIgnoreCase(ScGauge.LOW_POINTER_IDENTIFIER);
+        boolean isValue = tag.equalsIgnoreCase(ScGauge.VALUE_POINTER_IDENTIFIER);
 
-        if (feature instanceof ScPointer && (isHigh || isLow)) {
+        if (feature instanceof ScPointer && (isHigh || isLow || isValue)) {
             // Cast and fill
             ScPointer pointer = (ScPointer) feature;
             pointer.setRadius(this.mPointerRadius);
@@ -451,7 +472,8 @@ public abstract class ScGauge extends ScDrawer implements
         // Recycle
         attrArray.recycle();
 
-        // Disable the hardware acceleration as have problem with the shader
+        // Disable the hardware acceleration as have problem with the shader.
+        // Can be enabled again by the hardware mode.
         this.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
 
         // Check for snap to notches the new degrees value
@@ -473,18 +495,22 @@ public abstract class ScGauge extends ScDrawer implements
 
         ScCopier base = (ScCopier) this.addFeature(ScCopier.class);
         base.setTag(ScGauge.BASE_IDENTIFIER);
+        base.setStatic(true);
         this.featureSetter(base);
 
         ScNotches notches = (ScNotches) this.addFeature(ScNotches.class);
         notches.setTag(ScGauge.NOTCHES_IDENTIFIER);
+        notches.setStatic(true);
         this.featureSetter(notches);
 
         ScCopier progress = (ScCopier) this.addFeature(ScCopier.class);
         progress.setTag(ScGauge.PROGRESS_IDENTIFIER);
+        progress.setSegmentMode(ScCopier.SegmentModes.DASH);
         this.featureSetter(progress);
 
         ScWriter writer = (ScWriter) this.addFeature(ScWriter.class);
         writer.setTag(ScGauge.WRITER_IDENTIFIER);
+        writer.setStatic(true);
         this.featureSetter(writer);
 
         ScPointer highPointer = (ScPointer) this.addFeature(ScPointer.class);
@@ -493,7 +519,6 @@ public abstract class ScGauge extends ScDrawer implements
 
         ScPointer lowPointer = (ScPointer) this.addFeature(ScPointer.class);
         lowPointer.setTag(ScGauge.LOW_POINTER_IDENTIFIER);
-        lowPointer.setOnDrawListener(this);
         this.featureSetter(lowPointer);
 
         //--------------------------------------------------
@@ -564,83 +589,224 @@ public abstract class ScGauge extends ScDrawer implements
         }
     }
 
+    /**
+     * Collect all the pointers inside the holder.
+     * Called only when the features list changed.
+     */
+    private void collectPointers() {
+        // Reset
+        this.mPointersMustBeCollected = false;
+        this.mPointersCount = 0;
+        if (this.mFeatures == null) return;
+
+        // Cycle all features by index to not create the iterator
+        for (int index = 0; index < this.mFeatures.size(); index++) {
+            // Check the type
+            ScFeature feature = this.mFeatures.get(index);
+            if (!(feature instanceof ScPointer)) continue;
+
+            // Check the holder capacity and add the pointer
+            if (this.mPointers == null || this.mPointers.length == this.mPointersCount)
+                this.mPointers = this.mPointers == null ?
+                        new ScPointer[4] : Arrays.copyOf(this.mPointers, this.mPointersCount * 2);
+            this.mPointers[this.mPointersCount++] = (ScPointer) feature;
+        }
+
+        // Release the references to the removed pointers
+        if (this.mPointers != null)
+            Arrays.fill(this.mPointers, this.mPointersCount, this.mPointers.length, null);
+    }
+
+    /**
+     * Sort the pointers by their position.
+     * The pointers are almost always already sorted, as only the moved pointer can change its
+     * order, so the insertion sort take a linear time and keep the order of the pointers with
+     * the same position.
+     */
+    private void sortPointers() {
+        // Check if the features changed
+        if (this.mPointersMustBeCollected) this.collectPointers();
+
+        // Insertion sort
+        for (int index = 1; index < this.mPointersCount; index++) {
+            ScPointer pointer = this.mPointers[index];
+            float position = pointer.getPosition();
+
+            int previous = index - 1;
+            while (previous >= 0 && this.mPointers[previous].getPosition() > position) {
+                this.mPointers[previous + 1] = this.mPointers[previous];
+                previous--;
+            }
+            this.mPointers[previous + 1] = pointer;
+        }
+    }
+
+    /**
+     * Find the index of the first sorted pointer with the position greater or equal to the
+     * passed one by a binary search.
+     *
+     * @param position the position in percentage
+     * @return the pointer index or the pointers count if not found
+     */
+    private int searchPointer(float position) {
+        int low = 0;
+        int high = this.mPointersCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.mPointers[middle].getPosition() < position)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Check if the pointer can be selected by the nearest mode.
+     *
+     * @param pointer the pointer
+     * @return true if selectable
+     */
+    private boolean isSelectable(ScPointer pointer) {
+        return pointer.getVisible() && pointer.getRadius() != 0.0f;
+    }
+
+    /**
+     * Get the distance in percentage of the pointer from the passed position.
+     * If the path is closed the distance can be found in both directions.
+     *
+     * @param pointer    the pointer
+     * @param percentage the position
+     * @return the distance
+     */
+    private float getPointerDistance(ScPointer pointer, float percentage) {
+        float distance = Math.abs(percentage - pointer.getPosition());
+        return this.mPathMeasure.isClosed() ? Math.min(distance, 100.0f - distance) : distance;
+    }
+
     /**
      * Get the nearest pointer considering the passed distance from the path start.
+     * Only the pointers around the position are checked and, if the path is closed, the first
+     * and the last for find the nearest on the other side of the path start.
      *
      * @param percentage from the path start
      * @return the nearest pointer
      */
     private ScPointer findNearestPointer(float percentage) {
-        // Get all pointers
-        List<ScFeature> pointers = this.findFeatures(ScPointer.class, null);
+        // Sort and find the position inside the pointers
+        this.sortPointers();
+        int index = this.searchPointer(percentage);
+
+        // The nearest selectable before the position.
+        // If more pointers have the same position take the first one.
+        int before = index - 1;
+        while (before >= 0 && !this.isSelectable(this.mPointers[before])) before--;
+        while (before > 0 && this.isSelectable(this.mPointers[before - 1]) &&
+                this.mPointers[before - 1].getPosition() == this.mPointers[before].getPosition())
+            before--;
+
+        // The nearest selectable after the position
+        int after = index;
+        while (after < this.mPointersCount && !this.isSelectable(this.mPointers[after])) after++;
+
+        // Find the nearest pointer
         ScPointer nearestPointer = null;
         float nearestValue = Float.MAX_VALUE;
 
-        // Cycle all pointers found
-        for (ScFeature pointer : pointers) {
-            // Cast to current pointer
-            ScPointer current = (ScPointer) pointer;
-            if (!current.getVisible() || current.getRadius() == 0.0f) continue;
+        if (before >= 0) {
+            nearestPointer = this.mPointers[before];
+            nearestValue = this.getPointerDistance(nearestPointer, percentage);
+        }
 
-            // Find the distance from the current pointer and the pressed point
-            float normalDistance = Math.abs(percentage - current.getPosition());
-            float inverseDistance = Math.abs(100 - percentage + current.getPosition());
+        if (after < this.mPointersCount &&
+                this.getPointerDistance(this.mPointers[after], percentage) < nearestValue) {
+            nearestPointer = this.mPointers[after];
+            nearestValue = this.getPointerDistance(nearestPointer, percentage);
+        }
 
-            // Check in the normal way
-            if (normalDistance < nearestValue) {
-                nearestValue = normalDistance;
-                nearestPointer = current;
+        // If the path is closed try to search on the other side of the path start
+        if (this.mPathMeasure.isClosed()) {
+            int first = 0;
+            while (first < this.mPointersCount && !this.isSelectable(this.mPointers[first])) first++;
+            if (first < this.mPointersCount &&
+                    this.getPointerDistance(this.mPointers[first], percentage) < nearestValue) {
+                nearestPointer = this.mPointers[first];
+                nearestValue = this.getPointerDistance(nearestPointer, percentage);
             }
 
-            // If the path is closed try to search in negative
-            if (this.mPathMeasure.isClosed())
-                if (inverseDistance < nearestValue) {
-                    nearestValue = inverseDistance;
-                    nearestPointer = current;
-                }
+            int last = this.mPointersCount - 1;
+            while (last >= 0 && !this.isSelectable(this.mPointers[last])) last--;
+            if (last >= 0 &&
+                    this.getPointerDistance(this.mPointers[last], percentage) < nearestValue) {
+                nearestPointer = this.mPointers[last];
+            }
         }
+
         // Return the nearest pointer if found
         return nearestPointer;
     }
 
     /**
-     * Find the pointer positioned over this distance
+     * Find the pointer positioned over this distance checking only the pointers that can be
+     * reached by the greater radius.
      *
-     * @param distance from the path start
+     * @param distance  from the path start
+     * @param length    the path length
+     * @param maxRadius the greater radius of the pointers
      * @return the over pointer
      */
-    private ScPointer findOverPointer(float distance) {
-        // Get all pointers
-        List<ScFeature> pointers = this.findFeatures(ScPointer.class, null);
-
-        // Cycle all pointers found
-        for (ScFeature pointer : pointers) {
-            // Cast to current pointer
-            ScPointer current = (ScPointer) pointer;
-            if (!current.getVisible()) continue;
+    private ScPointer findOverPointer(float distance, float length, float maxRadius) {
+        // Find the first pointer that can be reached
+        int index = this.searchPointer((distance - maxRadius) * 100.0f / length);
 
+        // Cycle all pointers inside the reachable range
+        for (; index < this.mPointersCount; index++) {
             // Transform a distance of the current pointer from percentage to pixel
-            float percentage = current.getPosition();
-            float currentDistance = ScGauge
-                    .percentageToValue(percentage, 0, this.mPathMeasure.getLength());
+            ScPointer current = this.mPointers[index];
+            float currentDistance = ScGauge.percentageToValue(current.getPosition(), 0, length);
+            if (currentDistance > distance + maxRadius) break;
 
-            // If the nearest is null assign the first pointer to it
-            if (currentDistance >= distance - current.getRadius() &&
+            // Check if over
+            if (current.getVisible() &&
+                    currentDistance >= distance - current.getRadius() &&
                     currentDistance <= distance + current.getRadius())
                 return current;
-
-            // If the path is closed try to search in negative
-            if (this.mPathMeasure.isClosed()) {
-                float negative = distance - this.mPathMeasure.getLength();
-                if (currentDistance >= negative - current.getRadius() &&
-                        currentDistance <= negative + current.getRadius())
-                    return current;
-            }
         }
         // Return null if not found
         return null;
     }
 
+    /**
+     * Find the pointer positioned over this distance
+     *
+     * @param distance from the path start
+     * @return the over pointer
+     */
+    private ScPointer findOverPointer(float distance) {
+        // Sort the pointers and check for empty values
+        this.sortPointers();
+        float length = this.mPathMeasure.getLength();
+        if (length <= 0.0f) return null;
+
+        // Find the greater radius
+        float maxRadius = 0.0f;
+        for (int index = 0; index < this.mPointersCount; index++)
+            if (this.mPointers[index].getVisible())
+                maxRadius = Math.max(maxRadius, this.mPointers[index].getRadius());
+
+        // Search around the distance
+        ScPointer pointer = this.findOverPointer(distance, length, maxRadius);
+
+        // If the path is closed try to search on the other side of the path start
+        if (pointer == null && this.mPathMeasure.isClosed())
+            pointer = this.findOverPointer(distance - length, length, maxRadius);
+        if (pointer == null && this.mPathMeasure.isClosed())
+            pointer = this.findOverPointer(distance + length, length, maxRadius);
+
+        // Return null if not found
+        return pointer;
+    }
+
     /**
      * Set the value (high or low) considering the near pointer.
      *
@@ -668,10 +834,38 @@ public abstract class ScGauge extends ScDrawer implements
         if (this.mSnapToNotches)
             value = this.snapToNotches(value);
 
-        // If here mean that the pointer is untagged.
-        // I will move the pointer to the new position but I will not change no values.
+        // If here mean that the pointer is a value pointer or is untagged.
+        // I will move the pointer to the new position but I will not change the high and low
+        // values.
+        if (pointer.getPosition() == value) return;
         pointer.setPosition(value);
         this.invalidate();
+
+        // Manage the listener
+        if (this.mOnPointerEventListener != null) {
+            this.mOnPointerEventListener.onPointerChange(pointer, value);
+        }
+    }
+
+    /**
+     * Select the layer type.
+     * In hardware mode the software layer is dropped only if all the features are compatible
+     * with the hardware acceleration, otherwise fall back to the software layer.
+     */
+    private void updateLayerType() {
+        // Check if all the features are compatible with the hardware acceleration
+        boolean compatible = this.mHardwareMode;
+        if (compatible && this.mFeatures != null)
+            for (ScFeature feature : this.mFeatures)
+                if (feature != null && feature.getVisible() && !feature.isHardwareCompatible())
+                    compatible = false;
+
+        // Find the layer type
+        int type = compatible ? View.LAYER_TYPE_NONE : View.LAYER_TYPE_SOFTWARE;
+
+        // Apply only if changed
+        if (this.getLayerType() != type)
+            this.setLayerType(type, null);
     }
 
     /**
@@ -786,11 +980,15 @@ public abstract class ScGauge extends ScDrawer implements
      */
     @Override
     protected void onDraw(Canvas canvas) {
-        // Cycle all features
-        for (ScFeature feature : this.findFeatures(null, null)) {
-            // Setter
-            this.featureSetter(feature);
-        }
+        // Cycle all features by index to not create a new list on every drawing.
+        // The features compatibility changed by the setter will be checked after the drawing.
+        this.mDrawing = true;
+        if (this.mFeatures != null)
+            for (int index = 0; index < this.mFeatures.size(); index++) {
+                // Setter
+                this.featureSetter(this.mFeatures.get(index));
+            }
+        this.mDrawing = false;
 
         // Check if have a selected pointer
         if (this.mSelectedPointer != null) {
@@ -857,6 +1055,79 @@ public abstract class ScGauge extends ScDrawer implements
         return feature;
     }
 
+    /**
+     * Called by the features when their hardware acceleration compatibility could be changed.
+     * The layer type cannot be changed while drawing so in this case the check is posted
+     * after the current drawing.
+     *
+     * @param feature the source feature
+     */
+    @Override
+    public void onHardwareCompatibilityChange(ScFeature feature) {
+        // Check if drawing
+        if (!this.mDrawing) {
+            this.updateLayerType();
+            return;
+        }
+
+        // Post the check only once
+        if (this.mLayerTypeMustBeUpdated) return;
+        this.mLayerTypeMustBeUpdated = true;
+        this.post(new Runnable() {
+            @Override
+            public void run() {
+                ScGauge.this.mLayerTypeMustBeUpdated = false;
+                ScGauge.this.updateLayerType();
+            }
+        });
+    }
+
+    /**
+     * Add one feature to this drawer.
+     * The pointers holder will be collected again on the next touch.
+     *
+     * @param feature the new feature to add to the drawer
+     */
+    @Override
+    @SuppressWarnings("unused")
+    public void addFeature(ScFeature feature) {
+        super.addFeature(feature);
+        this.mPointersMustBeCollected = true;
+        this.updateLayerType();
+    }
+
+    /**
+     * Remove a feature from this drawer.
+     * The pointers holder will be collected again on the next touch.
+     *
+     * @param feature the feature to remove
+     * @return true if removed
+     */
+    @Override
+    @SuppressWarnings("unused")
+    public boolean removeFeature(ScFeature feature) {
+        // Deselect the removed pointer
+        if (feature == this.mSelectedPointer) this.mSelectedPointer = null;
+
+        this.mPointersMustBeCollected = true;
+        boolean result = super.removeFeature(feature);
+        this.updateLayerType();
+        return result;
+    }
+
+    /**
+     * Remove all feature from this drawer.
+     * The pointers holder will be collected again on the next touch.
+     */
+    @Override
+    @SuppressWarnings("unused")
+    public void removeAllFeatures() {
+        super.removeAllFeatures();
+        this.mSelectedPointer = null;
+        this.mPointersMustBeCollected = true;
+        this.updateLayerType();
+    }
+
     /**
      * Called when the path is touched.
      *
@@ -987,6 +1258,57 @@ public abstract class ScGauge extends ScDrawer implements
         return this.mLowValueAnimator;
     }
 
+    /**
+     * Add a value pointer at the passed position.
+     * The value pointers have the same style of the high and low pointers and can be moved by
+     * the user but not change the high and low values. Use the pointer event listener to know
+     * when a value pointer is moved.
+     *
+     * @param position the position in percentage respect to the path length
+     * @return the new pointer
+     */
+    @SuppressWarnings("unused")
+    public ScPointer addValuePointer(float position) {
+        // Create the pointer and settle it
+        ScPointer pointer = (ScPointer) this.addFeature(ScPointer.class);
+        pointer.setTag(ScGauge.VALUE_POINTER_IDENTIFIER);
+        pointer.setPosition(position);
+        this.featureSetter(pointer);
+
+        // Return the new pointer
+        return pointer;
+    }
+
+    /**
+     * Return the pointers count, considering all the pointers features.
+     *
+     * @return the count
+     */
+    @SuppressWarnings("unused")
+    public int getPointersCount() {
+        if (this.mPointersMustBeCollected) this.collectPointers();
+        return this.mPointersCount;
+    }
+
+    /**
+     * Return the pointer by its index in the pointers sorted by position.
+     *
+     * @param index the index
+     * @return the pointer
+     * @throws IndexOutOfBoundsException if the index is not within the pointers count
+     */
+    @SuppressWarnings("unused")
+    public ScPointer getPointer(int index) {
+        // Check the limits
+        int count = this.getPointersCount();
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count);
+
+        // Find the pointer
+        this.sortPointers();
+        return this.mPointers[index];
+    }
+
     /**
      * Convert a percentage in a value within the passed range of values.
      *
@@ -1435,6 +1757,36 @@ public abstract class ScGauge extends ScDrawer implements
         }
     }
 
+    /**
+     * Return if the hardware mode is enabled.
+     *
+     * @return the status
+     */
+    @SuppressWarnings("unused")
+    public boolean getHardwareMode() {
+        return this.mHardwareMode;
+    }
+
+    /**
+     * Enable the hardware mode.
+     * By default the gauge is drawn on a software layer as some features settings are not
+     * supported by the hardware acceleration.
+     * In hardware mode the software layer is dropped when all the features are compatible (see
+     * findHardwareIncompatibleFeatures), otherwise the gauge fall back to the software layer.
+     *
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    public void setHardwareMode(boolean value) {
+        // Check if the value is changed
+        if (this.mHardwareMode != value) {
+            // Fix the trigger and the layer type
+            this.mHardwareMode = value;
+            this.updateLayerType();
+            this.invalidate();
+        }
+    }
+
     /**
      * Return if the progress value is rounded to the closed notch.
      *
@@ -1889,6 +2241,32 @@ public abstract class ScGauge extends ScDrawer implements
         this.mOnEventListener = listener;
     }
 
+    /**
+     * Pointer event listener
+     */
+    @SuppressWarnings("unused")
+    public interface OnPointerEventListener {
+
+        /**
+         * Called when the user move a value pointer or an untagged pointer.
+         *
+         * @param pointer  the moved pointer
+         * @param position the new position in percentage respect to the path length
+         */
+        void onPointerChange(ScPointer pointer, float position);
+
+    }
+
+    /**
+     * Set the pointer event listener
+     *
+     * @param listener the listener
+     */
+    @SuppressWarnings("unused")
+    public void setOnPointerEventListener(OnPointerEventListener listener) {
+        this.mOnPointerEventListener = listener;
+    }
+
     /**
      * Define the draw listener interface
      */
@@ -0,0 +1,421 @@
+package com.sccomponents.widgets;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.graphics.Typeface;
+import android.os.Build;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A bitmap atlas of a bounded set of characters.
+ * <p>
+ * The glyphs are rasterized once, for a painter configuration, inside an alpha bitmap and
+ * after can be drawn as textured quads without any text layout.
+ * The alpha bitmap take the color from the painter that draw it.
+ * The atlases are shared by all the components and retrieved by the painter configuration.
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class ScGlyphAtlas {
+
+    /****************************************************************************************
+     * Constants
+     */
+
+    public static final String DEFAULT_CHARACTERS = "0123456789+-.,:%° ";
+
+    private static final int PADDING = 2;
+    private static final int MAX_WIDTH = 1024;
+    private static final int MAX_ATLASES = 8;
+
+    // Each glyph quad is composed by two triangles
+    public static final int VERTICES_PER_GLYPH = 6;
+
+
+    /****************************************************************************************
+     * Static variables
+     */
+
+    private static final Map<Key, ScGlyphAtlas> sAtlases =
+            new LinkedHashMap<Key, ScGlyphAtlas>(ScGlyphAtlas.MAX_ATLASES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, ScGlyphAtlas> eldest) {
+                    return this.size() > ScGlyphAtlas.MAX_ATLASES;
+                }
+            };
+    private static final Key sLookup = new Key();
+
+
+    /****************************************************************************************
+     * Private variables
+     */
+
+    private String mCharacters;
+    private Bitmap mBitmap;
+    private Shader mShader;
+    private float[] mAdvances;
+    private float[] mCells;
+    private float mTop;
+    private float mBottom;
+
+
+    /****************************************************************************************
+     * Constructor
+     */
+
+    /**
+     * Rasterize the characters using the painter settings.
+     *
+     * @param paint      the painter
+     * @param characters the characters
+     */
+    private ScGlyphAtlas(Paint paint, String characters) {
+        // Init
+        this.mCharacters = characters;
+        this.mAdvances = new float[characters.length()];
+        this.mCells = new float[characters.length() * 2];
+
+        // Create a painter that draw the glyphs from the left of the baseline
+        Paint painter = new Paint(paint);
+        painter.setTextAlign(Paint.Align.LEFT);
+        painter.setStyle(Paint.Style.FILL);
+        painter.setShader(null);
+        painter.setColor(Color.WHITE);
+
+        // Find the cells height
+        Paint.FontMetrics metrics = painter.getFontMetrics();
+        this.mTop = metrics.top - ScGlyphAtlas.PADDING;
+        this.mBottom = metrics.bottom + ScGlyphAtlas.PADDING;
+        int height = (int) Math.ceil(this.mBottom - this.mTop);
+
+        // Find the cells position on the rows
+        painter.getTextWidths(characters, this.mAdvances);
+        int x = 0;
+        int y = 0;
+        int width = 0;
+        for (int index = 0; index < characters.length(); index++) {
+            // Cell width and check for a new row
+            int cell = (int) Math.ceil(this.mAdvances[index]) + ScGlyphAtlas.PADDING * 2;
+            if (x > 0 && x + cell > ScGlyphAtlas.MAX_WIDTH) {
+                x = 0;
+                y += height;
+            }
+
+            // Hold the position
+            this.mCells[index * 2] = x;
+            this.mCells[index * 2 + 1] = y;
+            x += cell;
+            width = Math.max(width, x);
+        }
+
+        // Draw the glyphs
+        this.mBitmap = Bitmap.createBitmap(
+                Math.max(width, 1), y + height, Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(this.mBitmap);
+        for (int index = 0; index < characters.length(); index++)
+            canvas.drawText(characters, index, index + 1,
+                    this.mCells[index * 2] + ScGlyphAtlas.PADDING,
+                    this.mCells[index * 2 + 1] - this.mTop,
+                    painter);
+
+        // The shader used to draw the glyphs quads
+        this.mShader = new BitmapShader(this.mBitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+    }
+
+
+    /****************************************************************************************
+     * Private classes
+     */
+
+    /**
+     * The atlas key made by the characters and all the painter settings that change the
+     * glyphs rasterization.
+     * The typeface is compared by reference as the same typeface is always shared.
+     */
+    private static class Key {
+
+        private String characters;
+        private Typeface typeface;
+        private float textSize;
+        private float textScaleX;
+        private float textSkewX;
+        private float letterSpacing;
+        private int flags;
+        private int hinting;
+        private Locale locale;
+        private String featureSettings;
+
+        /**
+         * Fill the key with the painter settings.
+         *
+         * @param paint      the painter
+         * @param characters the characters
+         */
+        private void set(Paint paint, String characters) {
+            this.characters = characters;
+            this.typeface = paint.getTypeface();
+            this.textSize = paint.getTextSize();
+            this.textScaleX = paint.getTextScaleX();
+            this.textSkewX = paint.getTextSkewX();
+            this.flags = paint.getFlags();
+            this.hinting = paint.getHinting();
+            this.locale = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 ?
+                    paint.getTextLocale() : null;
+            this.letterSpacing = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ?
+                    paint.getLetterSpacing() : 0.0f;
+            this.featureSettings = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ?
+                    paint.getFontFeatureSettings() : null;
+        }
+
+        /**
+         * Create a copy of the key.
+         *
+         * @return the copy
+         */
+        private Key copy() {
+            Key key = new Key();
+            key.characters = this.characters;
+            key.typeface = this.typeface;
+            key.textSize = this.textSize;
+            key.textScaleX = this.textScaleX;
+            key.textSkewX = this.textSkewX;
+            key.letterSpacing = this.letterSpacing;
+            key.flags = this.flags;
+            key.hinting = this.hinting;
+            key.locale = this.locale;
+            key.featureSettings = this.featureSettings;
+            return key;
+        }
+
+        /**
+         * Compare two objects considering the null values.
+         *
+         * @param first  the first object
+         * @param second the second object
+         * @return true if equals
+         */
+        private static boolean equals(Object first, Object second) {
+            return first == null ? second == null : first.equals(second);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            // Check the type
+            if (this == object) return true;
+            if (!(object instanceof Key)) return false;
+
+            // Compare all the settings
+            Key key = (Key) object;
+            return this.typeface == key.typeface &&
+                    this.textSize == key.textSize &&
+                    this.textScaleX == key.textScaleX &&
+                    this.textSkewX == key.textSkewX &&
+                    this.letterSpacing == key.letterSpacing &&
+                    this.flags == key.flags &&
+                    this.hinting == key.hinting &&
+                    this.characters.equals(key.characters) &&
+                    Key.equals(this.locale, key.locale) &&
+                    Key.equals(this.featureSettings, key.featureSettings);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = this.characters.hashCode();
+            hash = 31 * hash + System.identityHashCode(this.typeface);
+            hash = 31 * hash + Float.floatToIntBits(this.textSize);
+            hash = 31 * hash + Float.floatToIntBits(this.textScaleX);
+            hash = 31 * hash + Float.floatToIntBits(this.textSkewX);
+            hash = 31 * hash + Float.floatToIntBits(this.letterSpacing);
+            hash = 31 * hash + this.flags;
+            return 31 * hash + this.hinting;
+        }
+
+    }
+
+
+    /****************************************************************************************
+     * Static methods
+     */
+
+    /**
+     * Get the atlas of the characters for the painter configuration.
+     * The atlas is created only if not exists yet.
+     *
+     * @param paint      the painter
+     * @param characters the characters
+     * @return the atlas
+     */
+    @SuppressWarnings("unused")
+    public static synchronized ScGlyphAtlas obtain(Paint paint, String characters) {
+        // Fill the lookup key with all the painter settings that change the glyphs
+        ScGlyphAtlas.sLookup.set(paint, characters);
+
+        // Find or create the atlas
+        ScGlyphAtlas atlas = ScGlyphAtlas.sAtlases.get(ScGlyphAtlas.sLookup);
+        if (atlas == null) {
+            atlas = new ScGlyphAtlas(paint, characters);
+            ScGlyphAtlas.sAtlases.put(ScGlyphAtlas.sLookup.copy(), atlas);
+        }
+        return atlas;
+    }
+
+
+    /****************************************************************************************
+     * Public methods
+     */
+
+    /**
+     * Check if all the characters of the text are inside the atlas.
+     *
+     * @param text the text
+     * @return true if contained
+     */
+    @SuppressWarnings("unused")
+    public boolean contains(String text) {
+        // Check for empty values
+        if (text == null) return false;
+
+        // Check all characters
+        for (int index = 0; index < text.length(); index++)
+            if (this.mCharacters.indexOf(text.charAt(index)) == -1) return false;
+        return true;
+    }
+
+    /**
+     * Get the width of the text as sum of the glyphs advances.
+     * All the characters of the text must be inside the atlas.
+     *
+     * @param text the text
+     * @return the width
+     */
+    @SuppressWarnings("unused")
+    public float measureText(String text) {
+        float width = 0.0f;
+        for (int index = 0; index < text.length(); index++)
+            width += this.mAdvances[this.mCharacters.indexOf(text.charAt(index))];
+        return width;
+    }
+
+    /**
+     * Get the advance of a character inside the atlas.
+     *
+     * @param character the character
+     * @return the advance
+     */
+    @SuppressWarnings("unused")
+    public float getAdvance(char character) {
+        return this.mAdvances[this.mCharacters.indexOf(character)];
+    }
+
+    /**
+     * Add the quad of a glyph to the vertices and texture coordinates holders.
+     * The glyph is placed with the baseline left point on the passed position and rotated by
+     * the passed angle.
+     * The holders must have space for {@link #VERTICES_PER_GLYPH} vertices from the offset.
+     *
+     * @param character the character
+     * @param x         the baseline left point horizontal position
+     * @param y         the baseline left point vertical position
+     * @param cos       the cosine of the rotation angle
+     * @param sin       the sine of the rotation angle
+     * @param vertices  the vertices holder
+     * @param texs      the texture coordinates holder
+     * @param offset    the first value to write inside the holders
+     * @return the next offset
+     */
+    @SuppressWarnings("unused")
+    public int addGlyph(char character, float x, float y, float cos, float sin,
+                        float[] vertices, float[] texs, int offset) {
+        // Find the cell
+        int index = this.mCharacters.indexOf(character);
+        float cellLeft = this.mCells[index * 2];
+        float cellTop = this.mCells[index * 2 + 1];
+        float cellRight = cellLeft + (float) Math.ceil(this.mAdvances[index]) + ScGlyphAtlas.PADDING * 2;
+        float cellBottom = cellTop + (float) Math.ceil(this.mBottom - this.mTop);
+
+        // The quad corners respect the baseline left point
+        float left = -ScGlyphAtlas.PADDING;
+        float right = left + cellRight - cellLeft;
+        float top = this.mTop;
+        float bottom = top + cellBottom - cellTop;
+
+        // Two triangles: left top, right top, left bottom and right top, right bottom, left bottom
+        offset = ScGlyphAtlas.addVertex(x, y, cos, sin, left, top, cellLeft, cellTop, vertices, texs, offset);
+        offset = ScGlyphAtlas.addVertex(x, y, cos, sin, right, top, cellRight, cellTop, vertices, texs, offset);
+        offset = ScGlyphAtlas.addVertex(x, y, cos, sin, left, bottom, cellLeft, cellBottom, vertices, texs, offset);
+        offset = ScGlyphAtlas.addVertex(x, y, cos, sin, right, top, cellRight, cellTop, vertices, texs, offset);
+        offset = ScGlyphAtlas.addVertex(x, y, cos, sin, right, bottom, cellRight, cellBottom, vertices, texs, offset);
+        return ScGlyphAtlas.addVertex(x, y, cos, sin, left, bottom, cellLeft, cellBottom, vertices, texs, offset);
+    }
+
+    /**
+     * Add a rotated vertex and its texture coordinates.
+     *
+     * @param x        the origin horizontal position
+     * @param y        the origin vertical position
+     * @param cos      the cosine of the rotation angle
+     * @param sin      the sine of the rotation angle
+     * @param dx       the horizontal distance from the origin before the rotation
+     * @param dy       the vertical distance from the origin before the rotation
+     * @param u        the horizontal texture coordinate
+     * @param v        the vertical texture coordinate
+     * @param vertices the vertices holder
+     * @param texs     the texture coordinates holder
+     * @param offset   the first value to write inside the holders
+     * @return the next offset
+     */
+    private static int addVertex(float x, float y, float cos, float sin, float dx, float dy,
+                                 float u, float v, float[] vertices, float[] texs, int offset) {
+        vertices[offset] = x + dx * cos - dy * sin;
+        vertices[offset + 1] = y + dx * sin + dy * cos;
+        texs[offset] = u;
+        texs[offset + 1] = v;
+        return offset + 2;
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Return the characters inside the atlas.
+     *
+     * @return the characters
+     */
+    @SuppressWarnings("unused")
+    public String getCharacters() {
+        return this.mCharacters;
+    }
+
+    /**
+     * Return the atlas bitmap.
+     * The bitmap have only the alpha channel so will be drawn with the painter color.
+     *
+     * @return the bitmap
+     */
+    @SuppressWarnings("unused")
+    public Bitmap getBitmap() {
+        return this.mBitmap;
+    }
+
+    /**
+     * Return the shader of the atlas bitmap, created once with the atlas.
+     *
+     * @return the shader
+     */
+    @SuppressWarnings("unused")
+    public Shader getShader() {
+        return this.mShader;
+    }
+
+}
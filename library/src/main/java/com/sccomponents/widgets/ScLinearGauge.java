@@ -148,6 +148,25 @@ public class ScLinearGauge extends ScGauge {
         return path;
     }
 
+    /**
+     * Create the closed form of the line.
+     *
+     * @param width  the drawing area width
+     * @param height the drawing area height
+     * @return the line geometry
+     */
+    @Override
+    protected ScPathGeometry createGeometry(int width, int height) {
+        // Calculate the left, top and right, bottom location by percentage
+        float left = (this.mBounds.left / 100.0f) * (float) width;
+        float top = (this.mBounds.top / 100.0f) * (float) height;
+        float right = (this.mBounds.right / 100.0f) * (float) width;
+        float bottom = (this.mBounds.bottom / 100.0f) * (float) height;
+
+        // Return the geometry
+        return new ScLinearGeometry(left, top, right, bottom);
+    }
+
 
     /****************************************************************************************
      * Instance state
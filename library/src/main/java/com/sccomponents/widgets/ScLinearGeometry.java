@@ -0,0 +1,218 @@
+package com.sccomponents.widgets;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * The closed form of a straight line.
+ * <p>
+ * Describe the same path created by a moveTo on the start point followed by a lineTo on the
+ * end point.
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class ScLinearGeometry extends ScPathGeometry {
+
+    /****************************************************************************************
+     * Private variable
+     */
+
+    private float mStartX;
+    private float mStartY;
+    private float mEndX;
+    private float mEndY;
+
+    private float mLength;
+    private float mAngle;
+
+
+    /****************************************************************************************
+     * Constructor
+     */
+
+    @SuppressWarnings("unused")
+    public ScLinearGeometry(float startX, float startY, float endX, float endY) {
+        // Init
+        this.mStartX = startX;
+        this.mStartY = startY;
+        this.mEndX = endX;
+        this.mEndY = endY;
+
+        // Hold the line measures
+        this.mLength = (float) Math.hypot(endX - startX, endY - startY);
+        this.mAngle = (float) Math.atan2(endY - startY, endX - startX);
+    }
+
+
+    /****************************************************************************************
+     * Overrides
+     */
+
+    /**
+     * Get the line length.
+     *
+     * @return the length
+     */
+    @Override
+    public float getLength() {
+        return this.mLength;
+    }
+
+    /**
+     * Write the line boundaries inside the passed rectangle.
+     *
+     * @param bounds the destination rectangle
+     */
+    @Override
+    public void getBounds(RectF bounds) {
+        bounds.set(
+                Math.min(this.mStartX, this.mEndX), Math.min(this.mStartY, this.mEndY),
+                Math.max(this.mStartX, this.mEndX), Math.max(this.mStartY, this.mEndY)
+        );
+    }
+
+    /**
+     * A line is never closed.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    /**
+     * Find the point at the passed distance from the line start.
+     *
+     * @param distance the distance from the start
+     * @param holder   the destination holder
+     */
+    @Override
+    public void getPoint(float distance, float[] holder) {
+        float ratio = this.mLength == 0.0f ? 0.0f : distance / this.mLength;
+        holder[0] = this.mStartX + (this.mEndX - this.mStartX) * ratio;
+        holder[1] = this.mStartY + (this.mEndY - this.mStartY) * ratio;
+        holder[2] = this.mAngle;
+    }
+
+    /**
+     * Find the point on the line nearest to the one passed projecting it on the line vector.
+     *
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @param holder    the destination holder
+     * @return true if a point was found
+     */
+    @Override
+    public boolean findNearest(float x, float y, float threshold, float[] holder) {
+        // Project the point on the line
+        float dx = this.mEndX - this.mStartX;
+        float dy = this.mEndY - this.mStartY;
+        float squaredLength = dx * dx + dy * dy;
+        float ratio = squaredLength == 0.0f ? 0.0f :
+                ((x - this.mStartX) * dx + (y - this.mStartY) * dy) / squaredLength;
+        if (ratio < 0.0f) ratio = 0.0f;
+        if (ratio > 1.0f) ratio = 1.0f;
+
+        // Find the point and check if inside the threshold area
+        float distance = this.mLength * ratio;
+        this.getPoint(distance, holder);
+        if (!ScPathGeometry.isInside(x, y, holder[0], holder[1], threshold)) return false;
+
+        // Fill the structure
+        holder[3] = holder[2];
+        holder[2] = distance;
+        return true;
+    }
+
+    /**
+     * Append to the destination path the line segment between the two passed distances.
+     *
+     * @param startD          the start distance
+     * @param stopD           the end distance
+     * @param dst             the destination path
+     * @param startWithMoveTo start with a moveTo calling
+     */
+    @Override
+    public void getSegment(float startD, float stopD, Path dst, boolean startWithMoveTo) {
+        // Find the ratios
+        float dx = this.mEndX - this.mStartX;
+        float dy = this.mEndY - this.mStartY;
+        float startRatio = this.mLength == 0.0f ? 0.0f : startD / this.mLength;
+        float stopRatio = this.mLength == 0.0f ? 0.0f : stopD / this.mLength;
+
+        // Add the segment
+        float x = this.mStartX + dx * startRatio;
+        float y = this.mStartY + dy * startRatio;
+        if (startWithMoveTo) dst.moveTo(x, y);
+        else dst.lineTo(x, y);
+        dst.lineTo(this.mStartX + dx * stopRatio, this.mStartY + dy * stopRatio);
+    }
+
+    /**
+     * Create a new line scaling and after translating this one.
+     * A line remain a line with any transformation.
+     *
+     * @param scaleX the horizontal scale
+     * @param scaleY the vertical scale
+     * @param dx     the horizontal offset
+     * @param dy     the vertical offset
+     * @return the new geometry
+     */
+    @Override
+    public ScPathGeometry transform(float scaleX, float scaleY, float dx, float dy) {
+        return new ScLinearGeometry(
+                this.mStartX * scaleX + dx, this.mStartY * scaleY + dy,
+                this.mEndX * scaleX + dx, this.mEndY * scaleY + dy
+        );
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Get the horizontal start coordinate.
+     *
+     * @return the start x
+     */
+    @SuppressWarnings("unused")
+    public float getStartX() {
+        return this.mStartX;
+    }
+
+    /**
+     * Get the vertical start coordinate.
+     *
+     * @return the start y
+     */
+    @SuppressWarnings("unused")
+    public float getStartY() {
+        return this.mStartY;
+    }
+
+    /**
+     * Get the horizontal end coordinate.
+     *
+     * @return the end x
+     */
+    @SuppressWarnings("unused")
+    public float getEndX() {
+        return this.mEndX;
+    }
+
+    /**
+     * Get the vertical end coordinate.
+     *
+     * @return the end y
+     */
+    @SuppressWarnings("unused")
+    public float getEndY() {
+        return this.mEndY;
+    }
+
+}
@@ -5,6 +5,10 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 
 /**
  * Create a series of notches that follow a path
@@ -40,11 +44,23 @@ public class ScNotches extends ScFeature {
     }
 
 
+    /****************************************************************************************
+     * Constants
+     */
+
+    private static final int POINT_SIZE = 3;
+    private static final int LEVEL_BITS = 8;
+    private static final int MAX_LEVELS = 1 << ScNotches.LEVEL_BITS;
+
+
     /****************************************************************************************
      * Private and protected variables
      */
 
     private Paint mPaintClone;
+    private float[] mPoints;
+    private PointF mPoint;
+    private NotchInfo mInfo;
 
     private int mNotchesCount;
     private float mNotchesLen;
@@ -55,6 +71,33 @@ public class ScNotches extends ScFeature {
     private boolean mDividePathInContours;
     private OnDrawListener mOnDrawListener;
 
+    private List<Level> mLevels;
+    private float mMinimumSpacing;
+    private long[] mKeys;
+    private float[] mDistances;
+
+    private boolean mNotchesMustBeRebuilt;
+    private int mNotchesTotal;
+    private float[] mNotchPoints;
+    private float[] mNotchDistances;
+    private int[] mNotchColors;
+    private int[] mNotchContours;
+    private int[] mNotchIndexes;
+    private int[] mNotchLevels;
+    private float[] mNotchSizes;
+    private float[] mNotchLengths;
+    private float[] mNotchOffsets;
+    private boolean[] mNotchHidden;
+    private float[] mContourLengths;
+
+    private boolean mBatchMustBeRebuilt;
+    private float[] mBatch;
+    private int[] mBatchStarts;
+    private int[] mBatchColors;
+    private float[] mBatchSizes;
+    private float[] mBatchLengths;
+    private int mBatchCount;
+
 
     /****************************************************************************************
      * Constructor
@@ -71,10 +114,392 @@ public class ScNotches extends ScFeature {
         this.mNotchType = NotchTypes.LINE;
         this.mNotchPosition = NotchPositions.MIDDLE;
         this.mDividePathInContours = true;
+        this.mLevels = new ArrayList<>();
+        this.mMinimumSpacing = 0.0f;
 
         this.mPaintClone = new Paint(this.mPaint);
+        this.mPoint = new PointF();
+        this.mInfo = new NotchInfo();
+        this.mInfo.source = this;
+
+        this.mNotchesMustBeRebuilt = true;
+        this.mBatchMustBeRebuilt = true;
+    }
+
+
+    /****************************************************************************************
+     * Levels
+     */
+
+    /**
+     * A level of notches finer than the base level.
+     */
+    private static class Level {
+
+        private int count;
+        private float length;
+        private float size;
+
+    }
+
+    /**
+     * Get the notches count of a level.
+     * The level zero is the base level defined by the class settings.
+     *
+     * @param level the level index
+     * @return the notches count
+     */
+    private int getLevelCount(int level) {
+        return level == 0 ? this.mNotchesCount : this.mLevels.get(level - 1).count;
+    }
+
+    /**
+     * Get the notches length of a level.
+     *
+     * @param level the level index
+     * @return the notches length
+     */
+    private float getLevelLength(int level) {
+        return level == 0 ? this.mNotchesLen : this.mLevels.get(level - 1).length;
+    }
+
+    /**
+     * Get the notches stroke size of a level.
+     *
+     * @param level the level index
+     * @return the stroke size
+     */
+    private float getLevelSize(int level) {
+        return level == 0 ? this.mPaint.getStrokeWidth() : this.mLevels.get(level - 1).size;
+    }
+
+    /**
+     * Check if a level must be drawn on a contour.
+     * The levels with the notches nearest than the minimum spacing are dropped.
+     *
+     * @param level  the level index
+     * @param length the contour length
+     * @return true if visible
+     */
+    private boolean isLevelVisible(int level, float length) {
+        int count = this.getLevelCount(level);
+        return count > 0 && length / count >= this.mMinimumSpacing;
+    }
+
+    /**
+     * Check if a notch of a level fall on the same position of a notch of a previous visible
+     * level. The check is done on the integer indexes to avoid the rounding errors.
+     *
+     * @param level  the level index
+     * @param index  the notch index inside the level
+     * @param length the contour length
+     * @return true if already defined by a previous level
+     */
+    private boolean isNotchDuplicated(int level, int index, float length) {
+        int count = this.getLevelCount(level);
+        for (int previous = 0; previous < level; previous++)
+            if (this.isLevelVisible(previous, length) &&
+                    ((long) index * this.getLevelCount(previous)) % count == 0)
+                return true;
+        return false;
+    }
+
+
+    /****************************************************************************************
+     * Notches
+     */
+
+    /**
+     * Make sure the notches holders can contain the passed number of notches.
+     *
+     * @param count the notches count
+     */
+    private void ensureNotchesCapacity(int count) {
+        // Check if the holders are already big enough
+        if (this.mNotchDistances != null && this.mNotchDistances.length >= count) return;
+
+        // Create the new holders keeping the old values
+        int size = Math.max(count, this.mNotchDistances == null ? 16 : this.mNotchDistances.length * 2);
+        this.mNotchPoints = ScNotches.copyOf(this.mNotchPoints, size * ScNotches.POINT_SIZE);
+        this.mNotchDistances = ScNotches.copyOf(this.mNotchDistances, size);
+        this.mNotchColors = ScNotches.copyOf(this.mNotchColors, size);
+        this.mNotchContours = ScNotches.copyOf(this.mNotchContours, size);
+        this.mNotchIndexes = ScNotches.copyOf(this.mNotchIndexes, size);
+        this.mNotchLevels = ScNotches.copyOf(this.mNotchLevels, size);
+        this.mNotchSizes = ScNotches.copyOf(this.mNotchSizes, size);
+        this.mNotchLengths = ScNotches.copyOf(this.mNotchLengths, size);
+        this.mNotchOffsets = ScNotches.copyOf(this.mNotchOffsets, size);
+        this.mNotchHidden = ScNotches.copyOf(this.mNotchHidden, size);
+        this.mBatch = new float[size * 4];
+        this.mBatchStarts = new int[size + 1];
+        this.mBatchColors = new int[size];
+        this.mBatchSizes = new float[size];
+        this.mBatchLengths = new float[size];
+    }
+
+    /**
+     * Find the position, the angle and the color of all notches of all levels on all contours.
+     * Called only when the path or the notches settings changed and not on every drawing.
+     * The contours are taken from the path measure so the path is never measured again.
+     * <p>
+     * The notches of all visible levels are merged in one list sorted by distance, dropping
+     * the notches already defined by a previous level, so each contour is traversed only once.
+     * Each key hold the notch distance bits followed by the level index.
+     */
+    private void buildNotches() {
+        // Reset
+        this.mNotchesMustBeRebuilt = false;
+        this.mBatchMustBeRebuilt = true;
+        this.mNotchesTotal = 0;
+
+        // Check for empty values
+        int contours = this.mDividePathInContours ?
+                this.mPathMeasure.getCount() : Math.min(this.mPathMeasure.getCount(), 1);
+        if (contours == 0) return;
+
+        // Holder
+        if (this.mContourLengths == null || this.mContourLengths.length < contours)
+            this.mContourLengths = new float[contours];
+        int levels = this.mLevels.size() + 1;
+
+        // Cycle all contours
+        for (int contour = 0; contour < contours; contour++) {
+            // Find the contour limits
+            float start = this.mDividePathInContours ? this.mPathMeasure.getContourOffset(contour) : 0.0f;
+            float length = this.mDividePathInContours ?
+                    this.mPathMeasure.getContourOffset(contour + 1) - start : this.mPathLength;
+            boolean isClosed = this.mPathMeasure.isContourClosed(contour);
+            this.mContourLengths[contour] = length;
+
+            // Collect the notches of all visible levels
+            int total = 0;
+            for (int level = 0; level < levels; level++) {
+                // Check the visibility
+                if (!this.isLevelVisible(level, length)) continue;
+
+                // If the contour is not closed add one notch to the beginning of contour.
+                int count = this.getLevelCount(level);
+                int notches = count + (isClosed ? 0 : 1);
+                float step = length / count;
+
+                // Check the holder capacity
+                if (this.mKeys == null || this.mKeys.length < total + notches)
+                    this.mKeys = ScNotches.copyOf(this.mKeys, Math.max(total + notches, total * 2));
+
+                // Add the keys
+                for (int index = 0; index < notches; index++)
+                    if (!this.isNotchDuplicated(level, index, length))
+                        this.mKeys[total++] =
+                                ((long) Float.floatToIntBits(index * step) << ScNotches.LEVEL_BITS) | level;
+            }
+            if (total == 0) continue;
+
+            // Sort by distance and find the absolute distances.
+            // The contour start distance belong to the previous contour so move a little forward.
+            Arrays.sort(this.mKeys, 0, total);
+            if (this.mDistances == null || this.mDistances.length < total)
+                this.mDistances = new float[total];
+            for (int notch = 0; notch < total; notch++) {
+                float distance = start + Float.intBitsToFloat((int) (this.mKeys[notch] >>> ScNotches.LEVEL_BITS));
+                this.mDistances[notch] = contour > 0 && notch == 0 ? Math.nextUp(distance) : distance;
+            }
+
+            // Find all the points on the contour with one traversal.
+            if (this.mPoints == null || this.mPoints.length < total * ScNotches.POINT_SIZE)
+                this.mPoints = new float[total * ScNotches.POINT_SIZE];
+            if (!this.mPathMeasure.getPosTan(this.mDistances, total, this.mPoints)) continue;
+
+            // Hold the notches
+            this.ensureNotchesCapacity(this.mNotchesTotal + total);
+            for (int key = 0; key < total; key++) {
+                // Position and angle
+                int notch = this.mNotchesTotal++;
+                int source = key * ScNotches.POINT_SIZE;
+                int target = notch * ScNotches.POINT_SIZE;
+                this.mNotchPoints[target] = this.mPoints[source];
+                this.mNotchPoints[target + 1] = this.mPoints[source + 1];
+                this.mNotchPoints[target + 2] = (float) Math.toDegrees(this.mPoints[source + 2]) + 90.0f;
+
+                // Info
+                int level = (int) (this.mKeys[key] & (ScNotches.MAX_LEVELS - 1));
+                float distance = Float.intBitsToFloat((int) (this.mKeys[key] >>> ScNotches.LEVEL_BITS));
+                this.mNotchDistances[notch] = distance;
+                this.mNotchColors[notch] = this.getGradientColor(distance, length);
+                this.mNotchContours[notch] = contour;
+                this.mNotchLevels[notch] = level;
+                this.mNotchIndexes[notch] = Math.round(distance * this.getLevelCount(level) / length);
+
+                // Style
+                this.mNotchSizes[notch] = this.getLevelSize(level);
+                this.mNotchLengths[notch] = this.getLevelLength(level);
+                this.mNotchOffsets[notch] = 0.0f;
+                this.mNotchHidden[notch] = false;
+                if (this.mRules != null) this.applyRules(notch, length);
+            }
+        }
+    }
+
+    /**
+     * Apply the style rules to a notch.
+     * The rules select the notch by its index inside its level or by its distance in
+     * percentage of the contour length.
+     *
+     * @param notch  the notch
+     * @param length the contour length
+     */
+    private void applyRules(int notch, float length) {
+        // Find the notch position
+        int index = this.mNotchIndexes[notch];
+        float percentage = length > 0 ? this.mNotchDistances[notch] * 100.0f / length : 0.0f;
+
+        // Apply the rules by property
+        ScRule rule = this.findRule(index, percentage, ScRule.COLOR);
+        if (rule != null) this.mNotchColors[notch] = rule.getColor();
+
+        rule = this.findRule(index, percentage, ScRule.SIZE);
+        if (rule != null) this.mNotchSizes[notch] = rule.getSize();
+
+        rule = this.findRule(index, percentage, ScRule.LENGTH);
+        if (rule != null) this.mNotchLengths[notch] = rule.getLength();
+
+        rule = this.findRule(index, percentage, ScRule.OFFSET);
+        if (rule != null) this.mNotchOffsets[notch] = rule.getOffset();
+
+        rule = this.findRule(index, percentage, ScRule.VISIBLE);
+        if (rule != null) this.mNotchHidden[notch] = !rule.getVisible();
+    }
+
+    /**
+     * Check if a notch is inside the limits of its contour.
+     *
+     * @param notch the notch index
+     * @return true if visible
+     */
+    private boolean isNotchVisible(int notch) {
+        // Convert the limits from percentages in distances
+        float length = this.mContourLengths[this.mNotchContours[notch]];
+        float startLimit = (length * this.mStartPercentage) / 100.0f;
+        float endLimit = (length * this.mEndPercentage) / 100.0f;
+
+        // Check
+        float distance = this.mNotchDistances[notch];
+        return (this.mStartPercentage == 0.0f || distance >= startLimit) &&
+                (this.mEndPercentage == 100.0f || distance <= endLimit);
+    }
+
+    /**
+     * Fill the batch with the geometry of all visible notches.
+     * The lines hold the start and end points, the circles hold the center.
+     * The consecutive notches that have the same color and size are grouped in a run to draw
+     * with only one call.
+     */
+    private void buildBatch() {
+        // Reset
+        this.mBatchMustBeRebuilt = false;
+        this.mBatchCount = 0;
+
+        // Holders
+        boolean isLine = this.mNotchType == NotchTypes.LINE;
+        int stride = isLine ? 4 : 2;
+        int size = 0;
+
+        // Cycle all notches
+        for (int notch = 0; notch < this.mNotchesTotal; notch++) {
+            // Check the visibility
+            if (this.mNotchHidden[notch] || !this.isNotchVisible(notch)) continue;
+
+            // Find the starting point and the direction
+            int index = notch * ScNotches.POINT_SIZE;
+            float length = this.mNotchLengths[notch];
+            float angle = this.mNotchPoints[index + 2];
+            float offset = this.mNotchOffsets[notch];
+
+            if (isLine) {
+                if (this.mNotchPosition == NotchPositions.MIDDLE) offset -= length / 2;
+                if (this.mNotchPosition == NotchPositions.OUTSIDE) angle += 180;
+
+            } else {
+                if (this.mNotchPosition == NotchPositions.INSIDE) offset += length / 2;
+                if (this.mNotchPosition == NotchPositions.OUTSIDE) offset -= length / 2;
+            }
+
+            float cos = (float) Math.cos(Math.toRadians(angle));
+            float sin = (float) Math.sin(Math.toRadians(angle));
+            float x = this.mNotchPoints[index] + cos * offset;
+            float y = this.mNotchPoints[index + 1] + sin * offset;
+
+            // Open a new run if the color or the size changed.
+            // The circles radius is not part of the geometry so the length must be the same.
+            int color = this.mNotchColors[notch];
+            float stroke = this.mNotchSizes[notch];
+            int last = this.mBatchCount - 1;
+            if (this.mBatchCount == 0 || this.mBatchColors[last] != color ||
+                    this.mBatchSizes[last] != stroke || (!isLine && this.mBatchLengths[last] != length)) {
+                this.mBatchStarts[this.mBatchCount] = size;
+                this.mBatchSizes[this.mBatchCount] = stroke;
+                this.mBatchLengths[this.mBatchCount] = length;
+                this.mBatchColors[this.mBatchCount++] = color;
+            }
+
+            // Add the geometry
+            this.mBatch[size] = x;
+            this.mBatch[size + 1] = y;
+            if (isLine) {
+                this.mBatch[size + 2] = x + cos * length;
+                this.mBatch[size + 3] = y + sin * length;
+            }
+            size += stride;
+        }
+
+        // Close the last run
+        this.mBatchStarts[this.mBatchCount] = size;
+    }
+
+    /**
+     * Copy an array in a new one of the passed size.
+     *
+     * @param source the source array, can be null
+     * @param size   the new size
+     * @return the new array
+     */
+    private static float[] copyOf(float[] source, int size) {
+        return source == null ? new float[size] : Arrays.copyOf(source, size);
     }
 
+    /**
+     * Copy an array in a new one of the passed size.
+     *
+     * @param source the source array, can be null
+     * @param size   the new size
+     * @return the new array
+     */
+    private static int[] copyOf(int[] source, int size) {
+        return source == null ? new int[size] : Arrays.copyOf(source, size);
+    }
+
+    /**
+     * Copy an array in a new one of the passed size.
+     *
+     * @param source the source array, can be null
+     * @param size   the new size
+     * @return the new array
+     */
+    private static long[] copyOf(long[] source, int size) {
+        return source == null ? new long[size] : Arrays.copyOf(source, size);
+    }
+
+    /**
+     * Copy an array in a new one of the passed size.
+     *
+     * @param source the source array, can be null
+     * @param size   the new size
+     * @return the new array
+     */
+    private static boolean[] copyOf(boolean[] source, int size) {
+        return source == null ? new boolean[size] : Arrays.copyOf(source, size);
+    }
+
+
     /****************************************************************************************
      * Draw methods
      *
@@ -103,15 +528,15 @@ public class ScNotches extends ScFeature {
         if (info.align == NotchPositions.OUTSIDE) info.angle += 180;
 
         // Find the start and end point to draw the line
-        PointF first = new PointF(info.point.x, info.point.y);
-        ScNotches.translatePoint(first, globalOffset, info.angle);
-
-        PointF second = new PointF(first.x, first.y);
-        ScNotches.translatePoint(second, info.length, info.angle);
+        float cos = (float) Math.cos(Math.toRadians(info.angle));
+        float sin = (float) Math.sin(Math.toRadians(info.angle));
+        float firstX = info.point.x + cos * globalOffset;
+        float firstY = info.point.y + sin * globalOffset;
 
         // Draw the line if the canvas is not null
         if (canvas != null) {
-            canvas.drawLine(first.x, first.y, second.x, second.y, this.mPaintClone);
+            canvas.drawLine(firstX, firstY,
+                    firstX + cos * info.length, firstY + sin * info.length, this.mPaintClone);
         }
     }
 
@@ -172,61 +597,36 @@ public class ScNotches extends ScFeature {
     }
 
     /**
-     * Draw all notches on the path.
+     * Draw all notches one by one calling the listener before each one.
+     * The listener can change every setting of the notch so the batch cannot be used.
      *
-     * @param canvas  where to draw
-     * @param path    the current contour path
-     * @param contour the contour index
+     * @param canvas where to draw
      */
-    private void drawNotches(Canvas canvas, Path path, int contour) {
-        // Create the path measure and calculate the step
-        ScPathMeasure measure = new ScPathMeasure(path, false);
-        float step = measure.getLength() / this.mNotchesCount;
-
-        // Define the notch info.
-        // I use to create the object here for avoid to create they n times after.
-        // Always inside the draw method is better not instantiate too much classes.
-        NotchInfo info = new NotchInfo();
-        info.source = this;
-
-        // Convert the limits from percentages in distances
-        float startLimit = (measure.getLength() * this.mStartPercentage) / 100.0f;
-        float endLimit = (measure.getLength() * this.mEndPercentage) / 100.0f;
-
-        // If the path is not closed add one notch to the beginning of path.
-        int count = this.mNotchesCount + (measure.isClosed() ? 0 : 1);
-
+    private void drawNotches(Canvas canvas) {
         // Cycle all notches.
-        for (int index = 0; index < count; index++) {
+        NotchInfo info = this.mInfo;
+        for (int notch = 0; notch < this.mNotchesTotal; notch++) {
             // Get the point on the path
-            float distance = index * step;
-            float[] point = measure.getPosTan(distance);
+            int index = notch * ScNotches.POINT_SIZE;
+            this.mPoint.set(this.mNotchPoints[index], this.mNotchPoints[index + 1]);
 
             // Define the notch info structure and fill with the local settings
-            info.point = null;
-            info.size = this.mPaint.getStrokeWidth();
-            info.length = this.mNotchesLen;
-            info.offset = 0.0f;
-            info.angle = 0.0f;
+            info.point = this.mPoint;
+            info.level = this.mNotchLevels[notch];
+            info.size = this.mNotchSizes[notch];
+            info.length = this.mNotchLengths[notch];
+            info.offset = this.mNotchOffsets[notch];
+            info.angle = this.mNotchPoints[index + 2];
             info.type = this.mNotchType;
             info.align = this.mNotchPosition;
-            info.contour = contour;
-            info.index = index;
-            info.distance = distance;
-            info.visible = (this.mStartPercentage == 0.0f || info.distance >= startLimit) &&
-                    (this.mEndPercentage == 100.0f || info.distance <= endLimit);
-            info.color = this.getGradientColor(distance, measure.getLength());
-
-            // Check if the point exists
-            if (point != null) {
-                info.point = ScNotches.toPoint(point);
-                info.angle = (float) Math.toDegrees(point[3]) + 90.0f;
-            }
+            info.contour = this.mNotchContours[notch];
+            info.index = this.mNotchIndexes[notch];
+            info.distance = this.mNotchDistances[notch];
+            info.visible = !this.mNotchHidden[notch] && this.isNotchVisible(notch);
+            info.color = this.mNotchColors[notch];
 
-            // Check if have a liked listener
-            if (this.mOnDrawListener != null) {
-                this.mOnDrawListener.onBeforeDrawNotch(info);
-            }
+            // Call the liked listener
+            this.mOnDrawListener.onBeforeDrawNotch(info);
 
             // Draw the single notch if visible
             if (info.visible) {
@@ -237,19 +637,47 @@ public class ScNotches extends ScFeature {
     }
 
     /**
-     * Draw all contours
+     * Draw all visible notches from the batch with one call for each run of the same color.
+     * The filled circles are drawn as rounded points large as the circle with its stroke.
      *
      * @param canvas where to draw
      */
-    private void drawContours(Canvas canvas) {
-        // Holder
-        Path[] contours =
-                this.mDividePathInContours ? this.mPathMeasure.getPaths() : new Path[]{this.mPath};
-
-        // Cycle all contours
-        for (int index = 0; index < contours.length; index++) {
-            // Draw the notches on the path
-            this.drawNotches(canvas, contours[index], index);
+    private void drawBatch(Canvas canvas) {
+        // Apply the settings to the painter
+        this.mPaintClone.set(this.mPaint);
+        this.mPaintClone.setStyle(Paint.Style.STROKE);
+        if (this.mNotchType == NotchTypes.CIRCLE_FILLED)
+            this.mPaintClone.setStrokeCap(Paint.Cap.ROUND);
+
+        // Cycle all runs
+        for (int run = 0; run < this.mBatchCount; run++) {
+            // Find the run limits and set the color
+            int start = this.mBatchStarts[run];
+            int end = this.mBatchStarts[run + 1];
+            this.mPaintClone.setColor(this.mBatchColors[run]);
+
+            // Set the run size
+            float length = this.mBatchLengths[run];
+            float size = this.mBatchSizes[run];
+            this.mPaintClone.setStrokeWidth(
+                    this.mNotchType == NotchTypes.CIRCLE_FILLED ? length + size : size);
+
+            // Draw by the case
+            switch (this.mNotchType) {
+                case LINE:
+                    canvas.drawLines(this.mBatch, start, end - start, this.mPaintClone);
+                    break;
+
+                case CIRCLE:
+                    for (int index = start; index < end; index += 2)
+                        canvas.drawCircle(this.mBatch[index], this.mBatch[index + 1],
+                                length / 2, this.mPaintClone);
+                    break;
+
+                case CIRCLE_FILLED:
+                    canvas.drawPoints(this.mBatch, start, end - start, this.mPaintClone);
+                    break;
+            }
         }
     }
 
@@ -258,6 +686,22 @@ public class ScNotches extends ScFeature {
      * Overrides
      */
 
+    /**
+     * The notches depend by the path, the colors, the painter and the settings while the
+     * limits only decide which notches are visible.
+     *
+     * @param changes the changed flags
+     */
+    @Override
+    protected void onRefresh(int changes) {
+        if ((changes & (ScFeature.CHANGED_PATH | ScFeature.CHANGED_COLORS |
+                ScFeature.CHANGED_COLORS_MODE | ScFeature.CHANGED_PAINT |
+                ScFeature.CHANGED_SETTINGS | ScFeature.CHANGED_RULES)) != 0)
+            this.mNotchesMustBeRebuilt = true;
+        if ((changes & ScFeature.CHANGED_LIMITS) != 0)
+            this.mBatchMustBeRebuilt = true;
+    }
+
     /**
      * Draw method
      *
@@ -266,11 +710,23 @@ public class ScNotches extends ScFeature {
     @Override
     protected void onDraw(Canvas canvas) {
         // Check for empty value
-        if (this.mNotchesCount == 0 || this.mPath == null)
+        if (this.mPath == null)
+            return;
+
+        // Find the notches if needed
+        if (this.mNotchesMustBeRebuilt)
+            this.buildNotches();
+        if (this.mNotchesTotal == 0)
             return;
 
         // Draw all notches
-        this.drawContours(canvas);
+        if (this.mOnDrawListener != null) {
+            this.drawNotches(canvas);
+
+        } else {
+            if (this.mBatchMustBeRebuilt) this.buildBatch();
+            this.drawBatch(canvas);
+        }
     }
 
 
@@ -317,6 +773,7 @@ public class ScNotches extends ScFeature {
         public float length;
         public int color;
         public int contour;
+        public int level;
         public int index;
         public float angle;
         public float offset;
@@ -343,6 +800,46 @@ public class ScNotches extends ScFeature {
         return Math.round(value / deltaAngle) * deltaAngle;
     }
 
+    /**
+     * Add a level of finer notches.
+     * The base level is defined by the count, the length and the painter stroke width, each
+     * added level divide the path in more parts and should have a count multiple of the
+     * previous levels. The notches that fall on the position of a notch of a previous level are
+     * not drawn.
+     *
+     * @param count  the notches count
+     * @param length the notches length
+     * @param size   the notches stroke size
+     * @return the level index
+     */
+    @SuppressWarnings("unused")
+    public int addLevel(int count, float length, float size) {
+        // Check the limits
+        if (this.mLevels.size() + 1 >= ScNotches.MAX_LEVELS)
+            throw new IndexOutOfBoundsException();
+
+        // Create the level
+        Level level = new Level();
+        level.count = Math.max(count, 0);
+        level.length = Math.max(length, 0.0f);
+        level.size = Math.max(size, 0.0f);
+        this.mLevels.add(level);
+
+        // Refresh
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+        return this.mLevels.size();
+    }
+
+    /**
+     * Remove all added levels keeping only the base level.
+     */
+    @SuppressWarnings("unused")
+    public void removeAllLevels() {
+        if (this.mLevels.isEmpty()) return;
+        this.mLevels.clear();
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
     /**
      * By default the class will draw the n notches on each contours that compose the current
      * path. If settle on false the class will consider the path as a unique path.
@@ -351,7 +848,9 @@ public class ScNotches extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setDividePathInContours(boolean value) {
+        if (this.mDividePathInContours == value) return;
         this.mDividePathInContours = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
 
@@ -377,7 +876,9 @@ public class ScNotches extends ScFeature {
     @SuppressWarnings("unused")
     public void setCount(int value) {
         if (value < 0) value = 0;
+        if (this.mNotchesCount == value) return;
         this.mNotchesCount = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -398,7 +899,9 @@ public class ScNotches extends ScFeature {
     @SuppressWarnings("unused")
     public void setLength(float value) {
         if (value < 0) value = 0;
+        if (this.mNotchesLen == value) return;
         this.mNotchesLen = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -418,7 +921,9 @@ public class ScNotches extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setType(NotchTypes value) {
+        if (this.mNotchType == value) return;
         this.mNotchType = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -438,7 +943,35 @@ public class ScNotches extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setPosition(NotchPositions value) {
+        if (this.mNotchPosition == value) return;
         this.mNotchPosition = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+
+    /**
+     * Return the minimum distance in pixel between two notches of the same level.
+     *
+     * @return the minimum spacing
+     */
+    @SuppressWarnings("unused")
+    public float getMinimumSpacing() {
+        return this.mMinimumSpacing;
+    }
+
+    /**
+     * Set the minimum distance in pixel between two notches of the same level.
+     * The levels with the notches nearest than this value are not drawn, so the dense scales
+     * show only the coarser levels on the small components.
+     *
+     * @param value the minimum spacing
+     */
+    @SuppressWarnings("unused")
+    public void setMinimumSpacing(float value) {
+        if (value < 0) value = 0;
+        if (this.mMinimumSpacing == value) return;
+        this.mMinimumSpacing = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
 
@@ -461,6 +994,16 @@ public class ScNotches extends ScFeature {
 
     }
 
+    /**
+     * Check if the draw listener is linked.
+     *
+     * @return true if have a listener
+     */
+    @Override
+    protected boolean hasOnDrawListener() {
+        return this.mOnDrawListener != null;
+    }
+
     /**
      * Set the draw listener to call.
      *
@@ -0,0 +1,120 @@
+package com.sccomponents.widgets;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Describe a path by its closed form.
+ * <p>
+ * When a path have a simple shape, as an arc or a line, all the measures can be calculated by
+ * few math operations instead of sampling the path.
+ * Link a geometry to the ScPathMeasure to avoid the path flattening and have the position, the
+ * tangent, the bounds and the nearest point in constant time.
+ * The geometry must describe exactly the same path passed to the measurer.
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public abstract class ScPathGeometry {
+
+    /****************************************************************************************
+     * Abstract methods
+     */
+
+    /**
+     * Get the geometry length.
+     *
+     * @return the length
+     */
+    @SuppressWarnings("unused")
+    public abstract float getLength();
+
+    /**
+     * Write the geometry boundaries inside the passed rectangle.
+     *
+     * @param bounds the destination rectangle
+     */
+    @SuppressWarnings("unused")
+    public abstract void getBounds(RectF bounds);
+
+    /**
+     * Check if the geometry is closed.
+     *
+     * @return true if closed
+     */
+    @SuppressWarnings("unused")
+    public abstract boolean isClosed();
+
+    /**
+     * Find the point at the passed distance from the geometry start.
+     * The result will be write inside the holder as x, y and tangent angle in radiant.
+     * The distance must be already pinned to 0 <= distance <= getLength().
+     *
+     * @param distance the distance from the start
+     * @param holder   the destination holder
+     */
+    @SuppressWarnings("unused")
+    public abstract void getPoint(float distance, float[] holder);
+
+    /**
+     * Find the point nearest to the one passed.
+     * Considering only the points inside the square area defined by the threshold parameter.
+     * The result will be write inside the holder as x, y, distance from the start and tangent
+     * angle in radiant.
+     *
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @param holder    the destination holder
+     * @return true if a point was found
+     */
+    @SuppressWarnings("unused")
+    public abstract boolean findNearest(float x, float y, float threshold, float[] holder);
+
+    /**
+     * Append to the destination path the segment between the two passed distances.
+     * The distances must be already pinned to 0 <= startD < stopD <= getLength().
+     *
+     * @param startD          the start distance
+     * @param stopD           the end distance
+     * @param dst             the destination path
+     * @param startWithMoveTo start with a moveTo calling
+     */
+    @SuppressWarnings("unused")
+    public abstract void getSegment(float startD, float stopD, Path dst, boolean startWithMoveTo);
+
+    /**
+     * Create a new geometry scaling and after translating this one.
+     * If the result cannot be described by the same kind of geometry return null.
+     *
+     * @param scaleX the horizontal scale
+     * @param scaleY the vertical scale
+     * @param dx     the horizontal offset
+     * @param dy     the vertical offset
+     * @return the new geometry
+     */
+    @SuppressWarnings("unused")
+    public abstract ScPathGeometry transform(float scaleX, float scaleY, float dx, float dy);
+
+
+    /****************************************************************************************
+     * Protected methods
+     */
+
+    /**
+     * Check if the passed point is inside the square area defined by the threshold and
+     * centered on the reference point.
+     *
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param refX      the x of reference point
+     * @param refY      the y of reference point
+     * @param threshold the threshold to define the checking area
+     * @return true if inside
+     */
+    protected static boolean isInside(float x, float y, float refX, float refY, float threshold) {
+        return Math.abs(x - refX) <= threshold && Math.abs(y - refY) <= threshold;
+    }
+
+}
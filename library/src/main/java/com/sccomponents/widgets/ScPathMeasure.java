@@ -6,6 +6,7 @@ import android.graphics.RectF;
 import android.os.Build;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -21,13 +22,44 @@ public class ScPathMeasure extends PathMeasure {
      * Private variable
      */
 
+    private static final int SAMPLE_SIZE = 4;
+    private static final int POINT_SIZE = 3;
+    private static final int GRID_DIVISIONS = 32;
+
+    private static final float DEFAULT_TOLERANCE = 0.5f;
+    private static final float MAX_TURN = (float) Math.toRadians(10);
+    private static final float MIN_STEP = 1.0f;
+    private static final int MIN_DEPTH = 2;
+    private static final int MAX_DEPTH = 16;
+
     private Path mPath;
     private boolean mForceClosed;
+    private float mTolerance;
+    private boolean mFastBounds;
+    private ScPathGeometry mGeometry;
 
     private RectF mBounds;
     private float mLength;
     private int mCount;
 
+    private float[] mSamples;
+    private int mSamplesCount;
+
+    private int[] mContourStarts;
+    private float[] mContourOffsets;
+    private boolean[] mContourClosed;
+
+    private float mGridLeft;
+    private float mGridTop;
+    private float mGridCellSize;
+    private int mGridColumns;
+    private int mGridRows;
+    private int[] mGridCells;
+    private int[] mGridSegments;
+
+    private float[] mPointHolder;
+    private float[] mNearestHolder;
+
 
     /****************************************************************************************
      * Constructor
@@ -36,16 +68,27 @@ public class ScPathMeasure extends PathMeasure {
     @SuppressWarnings("unused")
     public ScPathMeasure() {
         super();
+        this.mTolerance = ScPathMeasure.DEFAULT_TOLERANCE;
+        this.mPointHolder = new float[ScPathMeasure.SAMPLE_SIZE];
+        this.mNearestHolder = new float[3];
     }
 
     @SuppressWarnings("unused")
     public ScPathMeasure(Path path, boolean forceClosed) {
+        this(path, forceClosed, ScPathMeasure.DEFAULT_TOLERANCE);
+    }
+
+    @SuppressWarnings("unused")
+    public ScPathMeasure(Path path, boolean forceClosed, float tolerance) {
         // Super
         super(path, forceClosed);
 
         // Init
         this.mPath = path;
         this.mForceClosed = forceClosed;
+        this.mTolerance = tolerance;
+        this.mPointHolder = new float[ScPathMeasure.SAMPLE_SIZE];
+        this.mNearestHolder = new float[3];
 
         // Get the path info
         this.getPathInfo();
@@ -56,54 +99,644 @@ public class ScPathMeasure extends PathMeasure {
      * Private methods
      */
 
+    /**
+     * Make sure that the samples table can hold the passed number of samples.
+     *
+     * @param count the samples count
+     */
+    private void ensureSamplesCapacity(int count) {
+        // Check if the table is already big enough
+        int size = count * ScPathMeasure.SAMPLE_SIZE;
+        if (this.mSamples != null && this.mSamples.length >= size) return;
+
+        // Grow the table holding the samples already taken
+        float[] samples = new float[Math.max(size, this.mSamples == null ? 0 : this.mSamples.length * 2)];
+        if (this.mSamples != null)
+            System.arraycopy(this.mSamples, 0, samples, 0, this.mSamplesCount * ScPathMeasure.SAMPLE_SIZE);
+        this.mSamples = samples;
+    }
+
+    /**
+     * Make sure that the contours tables can hold the passed number of contours.
+     *
+     * @param count the contours count
+     */
+    private void ensureContoursCapacity(int count) {
+        // Check if the tables are already big enough
+        if (this.mContourStarts != null && this.mContourStarts.length > count) return;
+
+        // Create the new tables
+        int size = Math.max(count, this.mContourStarts == null ? 4 : this.mContourStarts.length * 2);
+        int[] starts = new int[size + 1];
+        float[] offsets = new float[size + 1];
+        boolean[] closed = new boolean[size + 1];
+
+        // Copy the old values
+        if (this.mContourStarts != null) {
+            System.arraycopy(this.mContourStarts, 0, starts, 0, this.mContourStarts.length);
+            System.arraycopy(this.mContourOffsets, 0, offsets, 0, this.mContourOffsets.length);
+            System.arraycopy(this.mContourClosed, 0, closed, 0, this.mContourClosed.length);
+        }
+
+        // Assign
+        this.mContourStarts = starts;
+        this.mContourOffsets = offsets;
+        this.mContourClosed = closed;
+    }
+
+    /**
+     * Append a point to the samples table and update the bounds if needed.
+     *
+     * @param x        the x coordinate
+     * @param y        the y coordinate
+     * @param angle    the tangent angle in radians
+     * @param distance the distance from the path start
+     */
+    private void addSample(float x, float y, float angle, float distance) {
+        // Store the point structure
+        this.ensureSamplesCapacity(this.mSamplesCount + 1);
+        int index = this.mSamplesCount * ScPathMeasure.SAMPLE_SIZE;
+        this.mSamples[index] = x;
+        this.mSamples[index + 1] = y;
+        this.mSamples[index + 2] = angle;
+        this.mSamples[index + 3] = distance;
+        this.mSamplesCount++;
+
+        // The bounds was already taken from the path
+        if (this.mFastBounds) return;
+
+        // Check the position of the current point and update the bounds
+        if (this.mBounds.left > x) this.mBounds.left = x;
+        if (this.mBounds.right < x) this.mBounds.right = x;
+
+        if (this.mBounds.top > y) this.mBounds.top = y;
+        if (this.mBounds.bottom < y) this.mBounds.bottom = y;
+    }
+
+    /**
+     * Get the angle difference between two angles limited to the shortest way.
+     *
+     * @param start the start angle in radians
+     * @param end   the end angle in radians
+     * @return the absolute difference in radians
+     */
+    private float getAngleDelta(float start, float end) {
+        float delta = Math.abs(end - start) % (float) (Math.PI * 2);
+        return delta > Math.PI ? (float) (Math.PI * 2) - delta : delta;
+    }
+
+    /**
+     * Adaptive subdivision of the current contour between two already sampled points.
+     * The middle point is sampled and, if the chord deviate from it more than the tolerance
+     * or if the tangent turn too much, the two halves will be subdivided again.
+     * The inner samples are appended to the table in order but not the end point that must
+     * be added by the caller.
+     *
+     * @param start      the start distance from the contour start
+     * @param startX     the start x coordinate
+     * @param startY     the start y coordinate
+     * @param startAngle the start tangent angle
+     * @param end        the end distance from the contour start
+     * @param endX       the end x coordinate
+     * @param endY       the end y coordinate
+     * @param endAngle   the end tangent angle
+     * @param offset     the distance of the current contour from the path start
+     * @param depth      the current recursion depth
+     * @param pos        the position holder
+     * @param tan        the tangent holder
+     */
+    private void subdivide(float start, float startX, float startY, float startAngle,
+                           float end, float endX, float endY, float endAngle,
+                           float offset, int depth, float[] pos, float[] tan) {
+        // Check the limits
+        if (depth >= ScPathMeasure.MAX_DEPTH || end - start <= ScPathMeasure.MIN_STEP) return;
+
+        // Sample the middle point
+        float middle = (start + end) / 2.0f;
+        super.getPosTan(middle, pos, tan);
+        float middleX = pos[0];
+        float middleY = pos[1];
+        float middleAngle = (float) Math.atan2(tan[1], tan[0]);
+
+        // Find the deviation of the middle point from the chord middle point
+        float dx = middleX - (startX + endX) / 2.0f;
+        float dy = middleY - (startY + endY) / 2.0f;
+        boolean flat = dx * dx + dy * dy <= this.mTolerance * this.mTolerance &&
+                this.getAngleDelta(startAngle, middleAngle) <= ScPathMeasure.MAX_TURN &&
+                this.getAngleDelta(middleAngle, endAngle) <= ScPathMeasure.MAX_TURN;
+
+        // Stop here if the chord is enough near to the curve.
+        // The first levels are always subdivided to not miss the curves that have the
+        // middle point exactly on the chord.
+        if (flat && depth >= ScPathMeasure.MIN_DEPTH) return;
+
+        // Subdivide the two halves
+        this.subdivide(start, startX, startY, startAngle, middle, middleX, middleY, middleAngle,
+                offset, depth + 1, pos, tan);
+        this.addSample(middleX, middleY, middleAngle, offset + middle);
+        this.subdivide(middle, middleX, middleY, middleAngle, end, endX, endY, endAngle,
+                offset, depth + 1, pos, tan);
+    }
+
     /**
      * Internal method to get the path contours info.
+     * All the contours will be flattened in a table of samples that hold, for each point, the
+     * coordinates, the tangent angle and the distance from the path start.
+     * The samples are taken by adaptive subdivision so the straight parts need only few points
+     * while the curves are sampled denser until the chords are within the tolerance.
+     * If a geometry is linked all the info are taken from it and the path is not sampled.
+     * Once the table is filled all the others methods will query it without need to walk the
+     * native contours again.
      */
     private void getPathInfo() {
+        // Reset the table
+        this.mCount = 0;
+        this.mLength = 0.0f;
+        this.mSamplesCount = 0;
+
         // Check for empty values
         if (this.mPath == null || this.mPath.isEmpty()) return;
 
-        // Create the starting bounds and other holders
+        // If have the closed form of the path not need to sample it
+        if (this.mGeometry != null) {
+            this.mLength = this.mGeometry.getLength();
+            this.mCount = this.mLength > 0.0f ? 1 : 0;
+            this.mBounds = new RectF();
+            this.mGeometry.getBounds(this.mBounds);
+            return;
+        }
+
+        // Create the starting bounds and other holders.
+        // If requested take the bounds directly from the path, otherwise they will be found
+        // from the samples.
         this.mBounds = new RectF(
                 Float.MAX_VALUE, Float.MAX_VALUE,
-                Float.MIN_VALUE, Float.MIN_VALUE
+                -Float.MAX_VALUE, -Float.MAX_VALUE
         );
-        this.mCount = 0;
-        this.mLength = 0.0f;
+        if (this.mFastBounds)
+            this.mPath.computeBounds(this.mBounds, true);
+
+        float[] pos = new float[2];
+        float[] tan = new float[2];
 
         // Cycle all paths
         do {
-            // Find the length of the path
+            // Find the length of the path and skip the empty contours
             float len = super.getLength();
-            int distance = 0;
+            if (len <= 0.0f) continue;
+
+            // Hold the contour info
+            this.ensureContoursCapacity(this.mCount + 1);
+            this.mContourStarts[this.mCount] = this.mSamplesCount;
+            this.mContourOffsets[this.mCount] = this.mLength;
+            this.mContourClosed[this.mCount] = super.isClosed();
+
+            // Sample the contour limits
+            super.getPosTan(0.0f, pos, tan);
+            float startX = pos[0];
+            float startY = pos[1];
+            float startAngle = (float) Math.atan2(tan[1], tan[0]);
+
+            super.getPosTan(len, pos, tan);
+            float endX = pos[0];
+            float endY = pos[1];
+            float endAngle = (float) Math.atan2(tan[1], tan[0]);
+
+            // Add the first point, subdivide the contour where needed and add the last point
+            this.addSample(startX, startY, startAngle, this.mLength);
+            this.subdivide(0.0f, startX, startY, startAngle, len, endX, endY, endAngle,
+                    this.mLength, 0, pos, tan);
+            this.addSample(endX, endY, endAngle, this.mLength + len);
+
+            // Increment the contours counter and add the current length to the global length
+            this.mCount++;
+            this.mLength += len;
 
-            // Increment the contours counter
-            if (len > 0.0f) this.mCount++;
+        } while (this.nextContour());
 
-            // Add the current length to the global length
-            this.mLength += len;
+        // Close the contours table
+        this.ensureContoursCapacity(this.mCount);
+        this.mContourStarts[this.mCount] = this.mSamplesCount;
+        this.mContourOffsets[this.mCount] = this.mLength;
 
-            // Cycle all the point of the path using an arbitrary increment
-            while (distance < len) {
-                // Define the point holder and get the point
-                float[] point = new float[2];
-                super.getPosTan(distance, point, null);
+        // Index the segments and reset the path
+        this.buildGrid();
+        super.setPath(this.mPath, this.mForceClosed);
+    }
 
-                // Check the position of the current point and update the bounds
-                if (this.mBounds.left > point[0]) this.mBounds.left = point[0];
-                if (this.mBounds.right < point[0]) this.mBounds.right = point[0];
+    /**
+     * Find the grid column that contain the passed horizontal coordinate.
+     * The coordinates outside the grid will be limited to the nearest border column.
+     *
+     * @param x the horizontal coordinate
+     * @return the column index
+     */
+    private int getGridColumn(float x) {
+        float column = (x - this.mGridLeft) / this.mGridCellSize;
+        if (column < 0.0f) return 0;
+        if (column >= this.mGridColumns) return this.mGridColumns - 1;
+        return (int) column;
+    }
 
-                if (this.mBounds.top > point[1]) this.mBounds.top = point[1];
-                if (this.mBounds.bottom < point[1]) this.mBounds.bottom = point[1];
+    /**
+     * Find the grid row that contain the passed vertical coordinate.
+     * The coordinates outside the grid will be limited to the nearest border row.
+     *
+     * @param y the vertical coordinate
+     * @return the row index
+     */
+    private int getGridRow(float y) {
+        float row = (y - this.mGridTop) / this.mGridCellSize;
+        if (row < 0.0f) return 0;
+        if (row >= this.mGridRows) return this.mGridRows - 1;
+        return (int) row;
+    }
 
-                // Next point
-                distance++;
+    /**
+     * Create an uniform grid over the path bounds where each cell hold the list of the
+     * segments (two consecutive samples of the same contour) that cross it.
+     * The cells list are stored in a compact way: mGridCells hold for each cell the starting
+     * index inside the mGridSegments array.
+     */
+    private void buildGrid() {
+        // Define the grid dimensions
+        float width = this.mBounds.width();
+        float height = this.mBounds.height();
+
+        this.mGridLeft = this.mBounds.left;
+        this.mGridTop = this.mBounds.top;
+        this.mGridCellSize = Math.max(1.0f, Math.max(width, height) / ScPathMeasure.GRID_DIVISIONS);
+        this.mGridColumns = (int) (width / this.mGridCellSize) + 1;
+        this.mGridRows = (int) (height / this.mGridCellSize) + 1;
+
+        // Create the cells holder
+        int cells = this.mGridColumns * this.mGridRows;
+        if (this.mGridCells == null || this.mGridCells.length < cells + 1)
+            this.mGridCells = new int[cells + 1];
+        else
+            Arrays.fill(this.mGridCells, 0);
+
+        // Two passes: the first count the segments inside each cell and the second fill the
+        // cells list.
+        int total = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            // Cycle all the segments of all contours
+            for (int contour = 0; contour < this.mCount; contour++) {
+                int last = this.mContourStarts[contour + 1] - 1;
+                for (int sample = this.mContourStarts[contour]; sample < last; sample++) {
+                    // The segment bounds
+                    int index = sample * ScPathMeasure.SAMPLE_SIZE;
+                    float x1 = this.mSamples[index];
+                    float y1 = this.mSamples[index + 1];
+                    float x2 = this.mSamples[index + ScPathMeasure.SAMPLE_SIZE];
+                    float y2 = this.mSamples[index + ScPathMeasure.SAMPLE_SIZE + 1];
+
+                    int startColumn = this.getGridColumn(Math.min(x1, x2));
+                    int endColumn = this.getGridColumn(Math.max(x1, x2));
+                    int startRow = this.getGridRow(Math.min(y1, y2));
+                    int endRow = this.getGridRow(Math.max(y1, y2));
+
+                    // Cycle all cells covered
+                    for (int row = startRow; row <= endRow; row++)
+                        for (int column = startColumn; column <= endColumn; column++) {
+                            int cell = row * this.mGridColumns + column;
+                            if (pass == 0) this.mGridCells[cell + 1]++;
+                            else this.mGridSegments[this.mGridCells[cell]++] = sample;
+                        }
+                }
             }
 
-        } while (this.nextContour());
+            if (pass == 0) {
+                // Accumulate the counters to have the starting index of each cell
+                for (int cell = 0; cell < cells; cell++)
+                    this.mGridCells[cell + 1] += this.mGridCells[cell];
 
-        // Reset the path and return the bounds
-        super.setPath(this.mPath, this.mForceClosed);
+                // Create the segments holder
+                total = this.mGridCells[cells];
+                if (this.mGridSegments == null || this.mGridSegments.length < total)
+                    this.mGridSegments = new int[total];
+
+            } else {
+                // The fill pass moved each starting index to the next cell so shift back
+                System.arraycopy(this.mGridCells, 0, this.mGridCells, 1, cells);
+                this.mGridCells[0] = 0;
+            }
+        }
+    }
+
+    /**
+     * Project the point on all the segments of a grid cell and keep the nearest.
+     * The nearest structure hold in order: the squared distance from the point, the segment
+     * index and the ratio of the projection respect the segment length.
+     *
+     * @param cell      the cell index
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @param nearest   the current nearest structure
+     */
+    private void projectOnCell(int cell, float x, float y, float threshold, float[] nearest) {
+        // Cycle all segments inside the cell
+        for (int item = this.mGridCells[cell]; item < this.mGridCells[cell + 1]; item++) {
+            // Get the segment
+            int sample = this.mGridSegments[item];
+            int index = sample * ScPathMeasure.SAMPLE_SIZE;
+            float x1 = this.mSamples[index];
+            float y1 = this.mSamples[index + 1];
+            float dx = this.mSamples[index + ScPathMeasure.SAMPLE_SIZE] - x1;
+            float dy = this.mSamples[index + ScPathMeasure.SAMPLE_SIZE + 1] - y1;
+
+            // Project the point on the segment
+            float squaredLength = dx * dx + dy * dy;
+            float ratio = squaredLength == 0.0f ? 0.0f : ((x - x1) * dx + (y - y1) * dy) / squaredLength;
+            if (ratio < 0.0f) ratio = 0.0f;
+            if (ratio > 1.0f) ratio = 1.0f;
+
+            // Check if the projected point is contained within the threshold rectangle
+            float px = x1 + dx * ratio - x;
+            float py = y1 + dy * ratio - y;
+            if (Math.abs(px) > threshold || Math.abs(py) > threshold) continue;
+
+            // If the current distance is less than the nearest point distance the nearest
+            // point must be reassigned. With the same distance win the nearest to the path
+            // start.
+            float distance = px * px + py * py;
+            if (nearest[1] < 0 || distance < nearest[0] ||
+                    (distance == nearest[0] && sample + ratio < nearest[1] + nearest[2])) {
+                nearest[0] = distance;
+                nearest[1] = sample;
+                nearest[2] = ratio;
+            }
+        }
+    }
+
+    /**
+     * Find the point on the path nearest to the one passed and write its structure inside the
+     * holder: x, y, distance from the path start and tangent angle.
+     * The search start from the grid cell that contain the point and proceed by rings of cells
+     * around it until the nearest point found cannot be beaten by the cells not visited yet.
+     *
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @param holder    the destination holder
+     * @return true if a point was found
+     */
+    private boolean findNearest(float x, float y, float threshold, float[] holder) {
+        // Check for empty values
+        if (this.mCount == 0 || threshold < 0.0f) return false;
+
+        // Ask to the geometry if linked
+        if (this.mGeometry != null)
+            return this.mGeometry.findNearest(x, y, threshold, holder);
+
+        // The cells limits defined by the threshold rectangle
+        int startColumn = this.getGridColumn(x - threshold);
+        int endColumn = this.getGridColumn(x + threshold);
+        int startRow = this.getGridRow(y - threshold);
+        int endRow = this.getGridRow(y + threshold);
+
+        // The starting cell and the nearest structure
+        int column = this.getGridColumn(x);
+        int row = this.getGridRow(y);
+        float[] nearest = this.mNearestHolder;
+        nearest[0] = 0.0f;
+        nearest[1] = -1.0f;
+        nearest[2] = 0.0f;
+
+        // Cycle all rings
+        for (int ring = 0; ; ring++) {
+            // The ring limits
+            int left = column - ring;
+            int right = column + ring;
+            int top = row - ring;
+            int bottom = row + ring;
+
+            // Check if all the cells was visited
+            if (left < startColumn && right > endColumn && top < startRow && bottom > endRow)
+                break;
+
+            // Cycle all the ring cells within the limits
+            for (int current = Math.max(top, startRow); current <= Math.min(bottom, endRow); current++) {
+                // The internal rows need only the border cells
+                boolean isBorder = current == top || current == bottom;
+                int step = isBorder || right == left ? 1 : right - left;
+
+                for (int cell = left; cell <= right; cell += step) {
+                    if (cell >= startColumn && cell <= endColumn)
+                        this.projectOnCell(current * this.mGridColumns + cell, x, y, threshold, nearest);
+                }
+            }
+
+            // If found check if the not visited cells can hold a nearest point.
+            // The bound is the minimum distance of the point from the ring borders that not
+            // reached the limits yet.
+            if (nearest[1] >= 0) {
+                float bound = Float.MAX_VALUE;
+                if (left > startColumn)
+                    bound = Math.min(bound, x - (this.mGridLeft + left * this.mGridCellSize));
+                if (right < endColumn)
+                    bound = Math.min(bound, this.mGridLeft + (right + 1) * this.mGridCellSize - x);
+                if (top > startRow)
+                    bound = Math.min(bound, y - (this.mGridTop + top * this.mGridCellSize));
+                if (bottom < endRow)
+                    bound = Math.min(bound, this.mGridTop + (bottom + 1) * this.mGridCellSize - y);
+
+                if (nearest[0] <= bound * bound) break;
+            }
+        }
+
+        // Check if found
+        if (nearest[1] < 0) return false;
+
+        // Interpolate the found point
+        int sample = (int) nearest[1];
+        int index = sample * ScPathMeasure.SAMPLE_SIZE;
+        float start = this.mSamples[index + 3];
+        float distance = start + (this.mSamples[index + ScPathMeasure.SAMPLE_SIZE + 3] - start) * nearest[2];
+        this.interpolate(sample, distance, holder);
+
+        // Fill the structure
+        holder[3] = holder[2];
+        holder[2] = distance;
+        return true;
+    }
+
+    /**
+     * Find the contour that contain the passed distance from the path start.
+     * If the distance fall on the border between two contours will be returned the first one.
+     *
+     * @param distance the distance from the path start
+     * @return the contour index
+     */
+    private int findContour(float distance) {
+        // Binary search on the contours end
+        int low = 0;
+        int high = this.mCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.mContourOffsets[middle + 1] < distance) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Find the last sample of the contour placed before the passed distance.
+     * The returned sample is always followed by another sample of the same contour so can be
+     * used as start of an interpolation.
+     *
+     * @param contour  the contour index
+     * @param distance the distance from the path start
+     * @return the sample index
+     */
+    private int findSample(int contour, float distance) {
+        // Binary search on the samples distance
+        int low = this.mContourStarts[contour];
+        int high = this.mContourStarts[contour + 1] - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.mSamples[middle * ScPathMeasure.SAMPLE_SIZE + 3] <= distance) low = middle;
+            else high = middle - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Interpolate the point between the passed sample and the next one.
+     * The result will be write inside the holder as x, y and tangent angle in radiant.
+     *
+     * @param sample   the starting sample index
+     * @param distance the distance from the path start
+     * @param holder   the destination holder
+     */
+    private void interpolate(int sample, float distance, float[] holder) {
+        // The samples indexes
+        int first = sample * ScPathMeasure.SAMPLE_SIZE;
+        int second = first + ScPathMeasure.SAMPLE_SIZE;
+
+        // Find the ratio
+        float delta = this.mSamples[second + 3] - this.mSamples[first + 3];
+        float ratio = delta <= 0.0f ? 0.0f : (distance - this.mSamples[first + 3]) / delta;
+        if (ratio < 0.0f) ratio = 0.0f;
+        if (ratio > 1.0f) ratio = 1.0f;
+
+        // Find the angles difference taking the shortest way
+        float angle = this.mSamples[second + 2] - this.mSamples[first + 2];
+        if (angle > Math.PI) angle -= 2 * Math.PI;
+        if (angle < -Math.PI) angle += 2 * Math.PI;
+
+        // Interpolate
+        holder[0] = this.mSamples[first] + (this.mSamples[second] - this.mSamples[first]) * ratio;
+        holder[1] = this.mSamples[first + 1] + (this.mSamples[second + 1] - this.mSamples[first + 1]) * ratio;
+        holder[2] = this.mSamples[first + 2] + angle * ratio;
+    }
+
+    /**
+     * Find the point at the passed distance from the path start.
+     * The result will be write inside the holder as x, y and tangent angle in radiant.
+     *
+     * @param distance the distance from the path start already pinned
+     * @param holder   the destination holder
+     */
+    private void getPoint(float distance, float[] holder) {
+        // Ask to the geometry if linked
+        if (this.mGeometry != null) {
+            this.mGeometry.getPoint(distance, holder);
+            return;
+        }
+
+        // Find the point inside the samples table
+        int contour = this.findContour(distance);
+        this.interpolate(this.findSample(contour, distance), distance, holder);
+    }
+
+    /**
+     * Find the points at the passed distances and write them inside the destination array.
+     * Each point is written as x, y and tangent angle in radiant.
+     * The samples table is walked forward from the last found point so, when the distances are
+     * sorted, all the points are found with one traversal of the path. When a distance go back
+     * the point is searched again from the table start.
+     *
+     * @param distances the distances from the path start, null for use the start and step
+     * @param start     the first distance when the distances array is null
+     * @param step      the step between the distances when the distances array is null
+     * @param count     the points count
+     * @param out       the destination array
+     */
+    private void getPoints(float[] distances, float start, float step, int count, float[] out) {
+        // The walking cursor
+        int contour = 0;
+        int sample = this.mGeometry == null ? this.mContourStarts[0] : 0;
+
+        // Cycle all distances
+        for (int index = 0; index < count; index++) {
+            // Pins the distance
+            float distance = distances == null ? start + step * index : distances[index];
+            if (distance < 0.0f) distance = 0.0f;
+            if (distance > this.mLength) distance = this.mLength;
+
+            // Find the point
+            int offset = index * ScPathMeasure.POINT_SIZE;
+            if (this.mGeometry != null) {
+                // Ask to the geometry
+                this.mGeometry.getPoint(distance, this.mPointHolder);
+
+            } else if (distance < this.mSamples[sample * ScPathMeasure.SAMPLE_SIZE + 3]) {
+                // Going back so search from the start
+                contour = this.findContour(distance);
+                sample = this.findSample(contour, distance);
+                this.interpolate(sample, distance, this.mPointHolder);
+
+            } else {
+                // Walk forward the contours and the samples
+                while (contour < this.mCount - 1 && this.mContourOffsets[contour + 1] < distance) {
+                    contour++;
+                    sample = this.mContourStarts[contour];
+                }
+                int last = this.mContourStarts[contour + 1] - 2;
+                while (sample < last &&
+                        this.mSamples[(sample + 1) * ScPathMeasure.SAMPLE_SIZE + 3] <= distance)
+                    sample++;
+                this.interpolate(sample, distance, this.mPointHolder);
+            }
+
+            // Write the point
+            out[offset] = this.mPointHolder[0];
+            out[offset + 1] = this.mPointHolder[1];
+            out[offset + 2] = this.mPointHolder[2];
+        }
+    }
+
+    /**
+     * Append to the destination path the segment of a contour.
+     *
+     * @param contour  the contour index
+     * @param startD   the start distance from the path start
+     * @param stopD    the end distance from the path start
+     * @param dst      the destination path
+     * @param moveTo   start the segment with a moveTo calling
+     */
+    private void appendSegment(int contour, float startD, float stopD, Path dst, boolean moveTo) {
+        // Find the starting point
+        int sample = this.findSample(contour, startD);
+        this.interpolate(sample, startD, this.mPointHolder);
+
+        if (moveTo) dst.moveTo(this.mPointHolder[0], this.mPointHolder[1]);
+        else dst.lineTo(this.mPointHolder[0], this.mPointHolder[1]);
+
+        // Add all the samples between the start and the end
+        int last = this.mContourStarts[contour + 1] - 1;
+        int index = sample + 1;
+        while (index < last && this.mSamples[index * ScPathMeasure.SAMPLE_SIZE + 3] < stopD) {
+            int offset = index * ScPathMeasure.SAMPLE_SIZE;
+            dst.lineTo(this.mSamples[offset], this.mSamples[offset + 1]);
+            index++;
+        }
+
+        // Find the ending point
+        this.interpolate(index - 1, stopD, this.mPointHolder);
+        dst.lineTo(this.mPointHolder[0], this.mPointHolder[1]);
     }
 
 
@@ -119,15 +752,7 @@ public class ScPathMeasure extends PathMeasure {
      */
     @Override
     public void setPath(Path path, boolean forceClosed) {
-        // Super
-        super.setPath(path, forceClosed);
-
-        // Init
-        this.mPath = path;
-        this.mForceClosed = forceClosed;
-
-        // Get the path info
-        this.getPathInfo();
+        this.setPath(path, forceClosed, null);
     }
 
     /**
@@ -154,31 +779,26 @@ public class ScPathMeasure extends PathMeasure {
      */
     @Override
     public boolean getPosTan(float distance, float[] pos, float[] tan) {
-        // Holders
-        float currentDistance = 0.0f;
-        float lastDistance = 0.0f;
-        boolean found = false;
-
-        // Cycle all contours
-        do {
-            // add the current contour length to the current distance
-            currentDistance += super.getLength();
+        // Check for empty values
+        if (this.mCount == 0) return false;
 
-            // Check if are on the right contour
-            if (distance <= currentDistance) {
-                // Get the point and tangent and exit
-                found = super.getPosTan(distance - lastDistance, pos, tan);
-                break;
-            }
+        // Pins the distance
+        if (distance < 0.0f) distance = 0.0f;
+        if (distance > this.mLength) distance = this.mLength;
 
-            // Save the current distance
-            lastDistance = currentDistance;
+        // Find the point
+        this.getPoint(distance, this.mPointHolder);
 
-        } while (this.nextContour());
-
-        // Reset the contours and return if found
-        super.setPath(this.mPath, this.mForceClosed);
-        return found;
+        // Fill the holders
+        if (pos != null) {
+            pos[0] = this.mPointHolder[0];
+            pos[1] = this.mPointHolder[1];
+        }
+        if (tan != null) {
+            tan[0] = (float) Math.cos(this.mPointHolder[2]);
+            tan[1] = (float) Math.sin(this.mPointHolder[2]);
+        }
+        return true;
     }
 
     /**
@@ -202,57 +822,42 @@ public class ScPathMeasure extends PathMeasure {
      */
     @Override
     public boolean getSegment(float startD, float stopD, Path dst, boolean startWithMoveTo) {
-        // Holders
-        float currentDistance = 0.0f;
-
         // Check for proper values
-        if (startD <= stopD) {
-            // Cycle all contours
-            do {
-                // The current contour lengths
-                float contourLen = super.getLength();
-                float contourStart = currentDistance;
-                float contourEnd = contourStart + contourLen;
-
-                // Check if are on the right contour
-                if (startD <= contourEnd) {
-                    // The current start and end segment to take
-                    float currStart = 0.0f;
-                    float currEnd = 0.0f;
-
-                    // Limit the values
-                    if (contourEnd >= startD) {
-                        currStart = startD - contourStart;
-                        if (currStart < 0.0f) currStart = 0.0f;
-
-                        currEnd = stopD - contourStart;
-                        if (currEnd > contourLen) currEnd = contourLen;
-                    }
-
-                    // If need take the segment
-                    if (currStart < currEnd) {
-                        // Extract the segment
-                        Path segment = new Path();
-                        super.getSegment(currStart, currEnd, segment, startWithMoveTo);
-
-                        // On KITKAT and earlier releases, the resulting path may not display on a
-                        // hardware-accelerated Canvas. A simple workaround is to add a single
-                        // operation to this path segment.
-                        segment.rLineTo(0, 0);
-
-                        // Add the extracted segment to the destination path
-                        dst.addPath(segment);
-                    }
-                }
-
-                // Update the global distance
-                currentDistance = contourEnd;
+        if (this.mCount > 0 && startD <= stopD) {
+            // Pins the distances
+            if (startD < 0.0f) startD = 0.0f;
+            if (stopD > this.mLength) stopD = this.mLength;
+
+            // Ask to the geometry if linked
+            if (this.mGeometry != null) {
+                if (startD < stopD)
+                    this.mGeometry.getSegment(startD, stopD, dst, startWithMoveTo);
+                return !dst.isEmpty();
+            }
 
-            } while (this.nextContour());
+            // Cycle all contours starting from the one that contain the start distance
+            boolean isFirst = true;
+            for (int contour = this.findContour(startD); contour < this.mCount; contour++) {
+                // The current contour limits
+                float contourStart = this.mContourOffsets[contour];
+                float contourEnd = this.mContourOffsets[contour + 1];
+                if (contourStart >= stopD) break;
+
+                // Limit the values
+                float currStart = Math.max(startD, contourStart);
+                float currEnd = Math.min(stopD, contourEnd);
+
+                // If need take the segment.
+                // Only the first segment can continue the destination path as the others
+                // are new contours.
+                if (currStart < currEnd) {
+                    this.appendSegment(contour, currStart, currEnd, dst, startWithMoveTo || !isFirst);
+                    isFirst = false;
+                }
+            }
         }
 
-        // Reset the contours and return the result
-        super.setPath(this.mPath, this.mForceClosed);
+        // Return the result
         return !dst.isEmpty();
     }
 
@@ -261,6 +866,29 @@ public class ScPathMeasure extends PathMeasure {
      * Public methods
      */
 
+    /**
+     * Set the current path and its closed form.
+     * When the geometry is not null all the measures will be calculated by it and the path will
+     * be not sampled. The geometry must describe exactly the passed path.
+     *
+     * @param path        the source path
+     * @param forceClosed force to close
+     * @param geometry    the path geometry, can be null
+     */
+    @SuppressWarnings("unused")
+    public void setPath(Path path, boolean forceClosed, ScPathGeometry geometry) {
+        // Super
+        super.setPath(path, forceClosed);
+
+        // Init
+        this.mPath = path;
+        this.mForceClosed = forceClosed;
+        this.mGeometry = geometry;
+
+        // Get the path info
+        this.getPathInfo();
+    }
+
     /**
      * Divide the current path in an array of contours.
      *
@@ -298,13 +926,49 @@ public class ScPathMeasure extends PathMeasure {
         return this.mCount;
     }
 
+    /**
+     * Get the distance of a contour start from the path start.
+     * Passing the contours count will be returned the path length so the contour length can be
+     * found as difference between the next contour offset and the current one.
+     * If the path changed you must recall a setPath to update this value.
+     *
+     * @param contour the contour index
+     * @return the contour offset
+     */
+    @SuppressWarnings("unused")
+    public float getContourOffset(int contour) {
+        // Check the limits
+        if (contour <= 0 || this.mCount == 0) return 0.0f;
+        if (contour >= this.mCount) return this.mLength;
+
+        // Get the value from the table
+        return this.mGeometry != null ? 0.0f : this.mContourOffsets[contour];
+    }
+
+    /**
+     * Check if a contour is closed.
+     * If the path changed you must recall a setPath to update this value.
+     *
+     * @param contour the contour index
+     * @return true if closed
+     */
+    @SuppressWarnings("unused")
+    public boolean isContourClosed(int contour) {
+        // Check the limits
+        if (contour < 0 || contour >= this.mCount) return false;
+
+        // Get the value from the geometry or from the table
+        return this.mGeometry != null ? this.mGeometry.isClosed() : this.mContourClosed[contour];
+    }
+
     /**
      * Get the path bounds.
      * Noted that this method consider all contours.
      * If the path changed you must recall a setPath to update this value.
      * <p>
-     * As the computeBounds of the path object seem not work proper I must cycle point by point
-     * of path for find the right path boundaries.
+     * As the computeBounds of the path object consider the curves control points too, by
+     * default the boundaries are found from the path samples.
+     * See setFastBounds for use the computeBounds result.
      *
      * @return the path boundaries
      */
@@ -321,24 +985,61 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings("unused")
     public float[] getPosTan(float distance) {
-        // Holders
-        float[] pointStructure = new float[4];
-        float[] point = new float[2];
-        float[] tangent = new float[2];
-
-        // Get the point
-        if (this.getPosTan(distance, point, tangent)) {
-            // Fill the structure
-            pointStructure[0] = point[0];
-            pointStructure[1] = point[1];
-            pointStructure[2] = distance;
-            pointStructure[3] = (float) Math.atan2(tangent[1], tangent[0]);
-
-            // Return
-            return  pointStructure;
-        }
-        // Else
-        return null;
+        // Check for empty values
+        if (this.mCount == 0) return null;
+
+        // Pins the distance and find the point
+        float pinned = Math.max(0.0f, Math.min(distance, this.mLength));
+        this.getPoint(pinned, this.mPointHolder);
+
+        // Fill the structure and return it
+        return new float[]{
+                this.mPointHolder[0], this.mPointHolder[1], distance, this.mPointHolder[2]
+        };
+    }
+
+    /**
+     * Get the points and their tangent at the passed distances considering all the contours.
+     * The distances are pinned to 0 <= distance <= getLength() and the points are written inside
+     * the destination array in sequence: x, y and tangent angle in radiant.
+     * The destination array must be big enough to hold count * 3 values.
+     * Sorting the distances ascending the whole path will be walked only once.
+     *
+     * @param distances the distances from the path start
+     * @param count     the points count
+     * @param out       the destination array
+     * @return false if there was no path associated with this measure object
+     */
+    @SuppressWarnings("unused")
+    public boolean getPosTan(float[] distances, int count, float[] out) {
+        // Check for empty values
+        if (this.mCount == 0 || distances == null || out == null) return false;
+
+        // Fill the destination
+        this.getPoints(distances, 0.0f, 0.0f, count, out);
+        return true;
+    }
+
+    /**
+     * Get the points and their tangent at evenly spaced distances considering all the contours.
+     * The distances are pinned to 0 <= distance <= getLength() and the points are written inside
+     * the destination array in sequence: x, y and tangent angle in radiant.
+     * The destination array must be big enough to hold count * 3 values.
+     *
+     * @param start the first distance from the path start
+     * @param step  the step between two distances
+     * @param count the points count
+     * @param out   the destination array
+     * @return false if there was no path associated with this measure object
+     */
+    @SuppressWarnings("unused")
+    public boolean getPosTan(float start, float step, int count, float[] out) {
+        // Check for empty values
+        if (this.mCount == 0 || out == null) return false;
+
+        // Fill the destination
+        this.getPoints(null, start, step, count, out);
+        return true;
     }
 
     /**
@@ -359,67 +1060,9 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings("unused")
     public float[] findNearestPoint(float x, float y, float threshold) {
-        // Find the rectangle around the point
-        float left = x - threshold;
-        float top = y - threshold;
-        float right = x + threshold;
-        float bottom = y + threshold;
-
-        // Define the points holder
-        float[] point = new float[2];
-        float[] tangent = new float[2];
-
-        // Nearest
-        float[] nearest = null;
-        // Cycle all contours
-        do {
-            // Find the length of the path
-            float len = super.getLength();
-            int distance = 0;
-
-            // Cycle all the point of the path using an arbitrary increment
-            while (distance < len) {
-                // Get the points position on the path
-                super.getPosTan(distance, point, tangent);
-
-                // Check if the threshold is infinite or the point is contained within the
-                // referenced rectangle
-                if (left <= point[0] && right >= point[0] &&
-                        top <= point[1] && bottom >= point[1]) {
-                    // Trigger to assign the nearest value
-                    boolean toAssign = nearest == null;
-                    if (!toAssign) {
-                        // Calculate the distances from found point
-                        float currentPointsDistance = (float) Math
-                                .sqrt(Math.pow(x - point[0], 2) + Math.pow(y - point[1], 2));
-                        float nearestPointsDistance = (float) Math
-                                .sqrt(Math.pow(x - nearest[0], 2) + Math.pow(y - nearest[1], 2));
-
-                        // If the current distance is less than the nearest point distance the
-                        // nearest point must be reassigned
-                        toAssign = currentPointsDistance < nearestPointsDistance;
-                    }
-
-                    // Check if must be assigned
-                    if (toAssign) {
-                        // If null init
-                        if (nearest == null) nearest = new float[4];
-                        // Assign the current point to the nearest
-                        nearest[0] = point[0];
-                        nearest[1] = point[1];
-                        nearest[2] = distance;
-                        nearest[3] = (float) Math.atan2(tangent[1], tangent[0]);
-                    }
-                }
-
-                // Next point
-                distance++;
-            }
-        } while (this.nextContour());
-
-        // Reset the path and return
-        super.setPath(this.mPath, this.mForceClosed);
-        return nearest;
+        // Search the point and return a copy of the found structure
+        float[] nearest = new float[4];
+        return this.findNearest(x, y, threshold, nearest) ? nearest : null;
     }
 
     /**
@@ -435,7 +1078,7 @@ public class ScPathMeasure extends PathMeasure {
     @SuppressWarnings("unused")
     public boolean contains(float x, float y, float threshold) {
         // Check if have
-        return this.findNearestPoint(x, y, threshold) != null;
+        return this.findNearest(x, y, threshold, this.mPointHolder);
     }
 
     /**
@@ -450,10 +1093,8 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings("unused")
     public float getDistance(float x, float y, float threshold) {
-        // Searching for point
-        float[] details = this.findNearestPoint(x, y, threshold);
-        // Return -1 if not find correspondence
-        return details == null ? -1.0f : details[2];
+        // Searching for point and return -1 if not find correspondence
+        return this.findNearest(x, y, threshold, this.mPointHolder) ? this.mPointHolder[2] : -1.0f;
     }
 
     /**
@@ -479,10 +1120,11 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings("unused")
     public float[] getFirstPoint() {
-        // Get the first point
-        float[] first = this.getPosTan(0.0f);
-        // Return the point converted in a simple point structure
-        return  new float[]{first[0], first[1]};
+        // Check for empty values
+        if (this.mCount == 0) return null;
+        // Return the first point converted in a simple point structure
+        this.getPoint(0.0f, this.mPointHolder);
+        return new float[]{this.mPointHolder[0], this.mPointHolder[1]};
     }
 
     /**
@@ -493,10 +1135,85 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings("unused")
     public float[] getLastPoint() {
-        // Get the path length and the last point on path
-        float[] last = this.getPosTan(this.getLength());
-        // Return the point converted in a simple point structure
-        return new float[]{last[0], last[1]};
+        // Check for empty values
+        if (this.mCount == 0) return null;
+        // Return the last point converted in a simple point structure
+        this.getPoint(this.mLength, this.mPointHolder);
+        return new float[]{this.mPointHolder[0], this.mPointHolder[1]};
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Set the maximum distance in pixel allowed between the path and the chords used to
+     * approximate it.
+     * A lower value mean more samples and more precision, an higher value mean less samples
+     * and faster measures. If a path is already set it will be measured again.
+     *
+     * @param value the tolerance in pixel
+     */
+    @SuppressWarnings("unused")
+    public void setTolerance(float value) {
+        // Check if the value is changed
+        if (value <= 0.0f) value = ScPathMeasure.DEFAULT_TOLERANCE;
+        if (this.mTolerance == value) return;
+
+        // Store the new value and measure again
+        this.mTolerance = value;
+        this.getPathInfo();
+    }
+
+    /**
+     * Get the maximum distance in pixel allowed between the path and the chords used to
+     * approximate it.
+     *
+     * @return the tolerance in pixel
+     */
+    @SuppressWarnings("unused")
+    public float getTolerance() {
+        return this.mTolerance;
+    }
+
+    /**
+     * Take the path bounds directly from the Path.computeBounds method instead of finding them
+     * from the samples.
+     * The result is exact for the paths composed only by straight lines, for the curves it can
+     * be larger than the real path as the control points are considered too.
+     * If a path is already set it will be measured again.
+     *
+     * @param value true for use the path computed bounds
+     */
+    @SuppressWarnings("unused")
+    public void setFastBounds(boolean value) {
+        // Check if the value is changed
+        if (this.mFastBounds == value) return;
+
+        // Store the new value and measure again
+        this.mFastBounds = value;
+        this.getPathInfo();
+    }
+
+    /**
+     * Get the closed form of the current path.
+     *
+     * @return the geometry, null if the path is sampled
+     */
+    @SuppressWarnings("unused")
+    public ScPathGeometry getGeometry() {
+        return this.mGeometry;
+    }
+
+    /**
+     * Get if the path bounds are taken directly from the Path.computeBounds method.
+     *
+     * @return true if use the path computed bounds
+     */
+    @SuppressWarnings("unused")
+    public boolean getFastBounds() {
+        return this.mFastBounds;
     }
 
 }
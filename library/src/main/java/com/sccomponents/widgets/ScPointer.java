@@ -2,6 +2,7 @@ package com.sccomponents.widgets;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
@@ -22,6 +23,9 @@ public class ScPointer extends ScFeature {
     public static final float DEFAULT_HALO_WIDTH = 10.0f;
     public static final int DEFAULT_HALO_ALPHA = 128;
 
+    // The sprite border to not cut the anti aliasing
+    private static final int SPRITE_PADDING = 1;
+
 
     /****************************************************************************************
      * Private variables
@@ -36,6 +40,17 @@ public class ScPointer extends ScFeature {
 
     private Paint mHaloPaint;
     private Paint mPaintClone;
+    private float[] mPoint;
+
+    private PointerInfo mInfo;
+    private PointF mInfoPoint;
+    private PointF mInfoOffset;
+
+    private Bitmap[] mSprites;
+    private Paint mSpritePaint;
+    private float mSpriteRadius;
+    private float mSpriteHaloWidth;
+    private int mSpriteHaloAlpha;
 
     private OnDrawListener mOnDrawListener;
 
@@ -60,6 +75,108 @@ public class ScPointer extends ScFeature {
 
         this.mHaloPaint = new Paint();
         this.mPaintClone = new Paint(this.mPaint);
+        this.mPoint = new float[3];
+
+        // The info and the sprites are created once and reused on every drawing
+        this.mInfo = new PointerInfo();
+        this.mInfo.source = this;
+        this.mInfoPoint = new PointF();
+        this.mInfoOffset = new PointF();
+
+        this.mSprites = new Bitmap[2];
+        this.mSpritePaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    }
+
+
+    /****************************************************************************************
+     * Private methods
+     */
+
+    /**
+     * Give back the sprites to the pool.
+     * The sprites will be created again on the next drawing.
+     */
+    private void releaseSprites() {
+        for (int index = 0; index < this.mSprites.length; index++) {
+            ScBitmapPool.release(this.mSprites[index]);
+            this.mSprites[index] = null;
+        }
+    }
+
+    /**
+     * Set the painters of the halo and of the pointer body starting from the feature painter.
+     * The pressed status swap the halo and the body opacity.
+     *
+     * @param color   the pointer color
+     * @param pressed the pressed status
+     */
+    private void setCirclesPainters(int color, boolean pressed) {
+        // Pointer body
+        this.mPaintClone.set(this.mPaint);
+        this.mPaintClone.setColor(color);
+        this.mPaintClone.setAlpha(pressed ? this.mHaloAlpha : 255);
+
+        // Halo
+        this.mHaloPaint.set(this.mPaintClone);
+        this.mHaloPaint.setAlpha(pressed ? 255 : this.mHaloAlpha);
+        this.mHaloPaint.setStyle(Paint.Style.STROKE);
+        this.mHaloPaint.setStrokeWidth(this.mHaloWidth);
+    }
+
+    /**
+     * Check if the pointer can be drawn by the sprite.
+     * The sprite is only an alpha mask colored on drawing so it cannot hold the painter shader,
+     * color filter or transfer mode.
+     *
+     * @return true if use the sprite
+     */
+    private boolean isSprite() {
+        return this.mPaint.getShader() == null &&
+                this.mPaint.getColorFilter() == null &&
+                this.mPaint.getXfermode() == null;
+    }
+
+    /**
+     * Get the sprite of the pointer, with the halo and the body, for the pressed status.
+     * The sprite is an alpha bitmap drawn once and colored by the painter when drawn so it
+     * must be created again only when the radius, the halo or the painter style change.
+     *
+     * @param pressed the pressed status
+     * @return the sprite
+     */
+    private Bitmap getSprite(boolean pressed) {
+        // Check if the cached sprites are still valid
+        if (this.mSpriteRadius != this.mPointerRadius ||
+                this.mSpriteHaloWidth != this.mHaloWidth ||
+                this.mSpriteHaloAlpha != this.mHaloAlpha) {
+            // Release and hold the new settings
+            this.releaseSprites();
+            this.mSpriteRadius = this.mPointerRadius;
+            this.mSpriteHaloWidth = this.mHaloWidth;
+            this.mSpriteHaloAlpha = this.mHaloAlpha;
+        }
+
+        // Check if already created
+        int index = pressed ? 1 : 0;
+        if (this.mSprites[index] != null) return this.mSprites[index];
+
+        // Find the dimension considering the halo stroke centered on the circle border
+        float extent = this.mPointerRadius + Math.max(this.mHaloWidth, 1.0f) / 2;
+        int size = (int) Math.ceil(extent * 2) + ScPointer.SPRITE_PADDING * 2;
+        float center = size / 2.0f;
+
+        // Set the painters as the circles drawing but with an opaque color
+        this.setCirclesPainters(Color.WHITE, pressed);
+
+        // Draw the halo and the pointer
+        Bitmap sprite = ScBitmapPool.acquire(size, size, Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(sprite);
+        canvas.drawCircle(center, center, this.mPointerRadius, this.mHaloPaint);
+        canvas.drawCircle(center, center, this.mPointerRadius, this.mPaintClone);
+
+        // Hold and return
+        this.mSprites[index] = sprite;
+        return sprite;
     }
 
 
@@ -75,26 +192,38 @@ public class ScPointer extends ScFeature {
 
     /**
      * Default drawing the circles that representing the pointer.
+     * The halo and the body are drawn once inside the sprite and after the sprite is drawn
+     * colored on every call.
+     * If the painter have a shader, a color filter or a transfer mode the circles are drawn
+     * directly instead.
      * Note when draw a circle the angle not take effect on the final drawing.
      *
      * @param canvas where to draw
      * @param info   the pointer info
      */
     private void drawCircles(Canvas canvas, PointerInfo info) {
-        // Set the halo painter
-        this.mHaloPaint.set(this.mPaintClone);
-        this.mHaloPaint.setAlpha(info.pressed ? 255 : this.mHaloAlpha);
-        this.mHaloPaint.setStyle(Paint.Style.STROKE);
-        this.mHaloPaint.setStrokeWidth(this.mHaloWidth);
-
         // Adjust the pointer offset
         ScPointer.translatePoint(info.point, info.offset.x, info.offset.y, info.angle);
 
         // Check for null values and for the pointer radius
         if (canvas != null && this.mPointerRadius > 0.0f) {
-            // Draw the halo and the pointer
-            canvas.drawCircle(info.point.x, info.point.y, this.mPointerRadius, this.mHaloPaint);
-            canvas.drawCircle(info.point.x, info.point.y, this.mPointerRadius, this.mPaintClone);
+            // Check if can use the sprite
+            if (!this.isSprite()) {
+                // Draw the halo and the pointer
+                this.setCirclesPainters(info.color, info.pressed);
+                canvas.drawCircle(info.point.x, info.point.y, this.mPointerRadius, this.mHaloPaint);
+                canvas.drawCircle(info.point.x, info.point.y, this.mPointerRadius, this.mPaintClone);
+                return;
+            }
+
+            // The sprite alpha levels define the halo and the pointer opacity
+            Bitmap sprite = this.getSprite(info.pressed);
+            float center = sprite.getWidth() / 2.0f;
+            this.mSpritePaint.setColor(info.color | 0xFF000000);
+
+            // Draw the sprite centered on the point
+            canvas.drawBitmap(
+                    sprite, info.point.x - center, info.point.y - center, this.mSpritePaint);
         }
     }
 
@@ -127,15 +256,16 @@ public class ScPointer extends ScFeature {
         float distance = (this.mPathLength * this.mPointerPosition) / 100;
 
         // Find the point on the path and check the result
-        float[] point = this.mPathMeasure.getPosTan(distance);
-        if (point == null) return;
-
-        // Create the pointer info holder
-        PointerInfo info = new PointerInfo();
-        info.source = this;
-        info.point = ScPointer.toPoint(point);
-        info.offset = new PointF();
-        info.angle = (float) Math.toDegrees(point[3]);
+        if (!this.mPathMeasure.getPosTan(distance, 0.0f, 1, this.mPoint)) return;
+
+        // Fill the pointer info holder
+        PointerInfo info = this.mInfo;
+        this.mInfoPoint.set(this.mPoint[0], this.mPoint[1]);
+        this.mInfoOffset.set(0.0f, 0.0f);
+        info.point = this.mInfoPoint;
+        info.offset = this.mInfoOffset;
+        info.bitmap = null;
+        info.angle = (float) Math.toDegrees(this.mPoint[2]);
         info.color = this.getGradientColor(distance);
         info.pressed = this.mPressed;
 
@@ -144,11 +274,6 @@ public class ScPointer extends ScFeature {
             this.mOnDrawListener.onBeforeDrawPointer(info);
         }
 
-        // Set the pointer painter
-        this.mPaintClone.set(this.mPaint);
-        this.mPaintClone.setColor(info.color);
-        this.mPaintClone.setAlpha(info.pressed ? this.mHaloAlpha : 255);
-
         // Check if the bitmap is not null
         if (info.bitmap != null) {
             // Draw a bitmap
@@ -180,6 +305,25 @@ public class ScPointer extends ScFeature {
         this.drawPointer(canvas);
     }
 
+    /**
+     * The sprites depend by the painter style so create them again only if it changed.
+     *
+     * @param changes the changed flags
+     */
+    @Override
+    protected void onRefresh(int changes) {
+        if ((changes & ScFeature.CHANGED_PAINT) != 0)
+            this.releaseSprites();
+    }
+
+    /**
+     * Give back the sprites to the pool.
+     */
+    @Override
+    public void release() {
+        this.releaseSprites();
+    }
+
 
     /****************************************************************************************
      * Public classes and methods
@@ -243,8 +387,12 @@ public class ScPointer extends ScFeature {
         if (value < 0.0f) value = 0.0f;
         if (value > 100.0f) value = 100.0f;
 
+        // Check if the value is changed
+        if (this.mPointerPosition == value) return;
+
         // Store the value
         this.mPointerPosition = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -264,7 +412,15 @@ public class ScPointer extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setRadius(float value) {
-        this.mPointerRadius = value < 0.0f ? 0.0f : value;
+        // Check the limits
+        if (value < 0.0f) value = 0.0f;
+
+        // Check if the value is changed
+        if (this.mPointerRadius == value) return;
+
+        // Store the value
+        this.mPointerRadius = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -284,7 +440,15 @@ public class ScPointer extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setHaloWidth(float value) {
-        this.mHaloWidth = value < 0.0f ? 0.0f : value;
+        // Check the limits
+        if (value < 0.0f) value = 0.0f;
+
+        // Check if the value is changed
+        if (this.mHaloWidth == value) return;
+
+        // Store the value
+        this.mHaloWidth = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -308,8 +472,12 @@ public class ScPointer extends ScFeature {
         if (value < 0) value = 0;
         if (value > 255) value = 255;
 
+        // Check if the value is changed
+        if (this.mHaloAlpha == value) return;
+
         // Store the value
         this.mHaloAlpha = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -329,7 +497,12 @@ public class ScPointer extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setPressed(boolean value) {
+        // Check if the value is changed
+        if (this.mPressed == value) return;
+
+        // Store the value
         this.mPressed = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
 
@@ -354,6 +527,16 @@ public class ScPointer extends ScFeature {
 
     }
 
+    /**
+     * Check if the draw listener is linked.
+     *
+     * @return true if have a listener
+     */
+    @Override
+    protected boolean hasOnDrawListener() {
+        return this.mOnDrawListener != null;
+    }
+
     /**
      * Set the draw listener to call
      *
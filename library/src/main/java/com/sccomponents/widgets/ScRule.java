@@ -0,0 +1,253 @@
+package com.sccomponents.widgets;
+
+/**
+ * A declarative style rule for the elements of a feature, as the notches or the tokens.
+ * <p>
+ * The rule select a range of elements by index or by percentage of the path length and
+ * override some of their properties: color, size, length, visibility and offset.
+ * The rules are evaluated only when changed and the result is cached by the feature, so they
+ * cost nothing on the drawing.
+ * When more rules define the same property for the same element the last rule win.
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class ScRule {
+
+    /****************************************************************************************
+     * Enumerators
+     */
+
+    /**
+     * Define how the range select the elements.
+     * INDEX: the range limits are the elements indexes.
+     * PERCENTAGE: the range limits are percentages of the path length.
+     */
+    @SuppressWarnings("unused")
+    public enum RangeTypes {
+        INDEX,
+        PERCENTAGE
+    }
+
+
+    /****************************************************************************************
+     * Constants
+     */
+
+    /**
+     * The properties that a rule can define.
+     */
+    public static final int COLOR = 1;
+    public static final int SIZE = 2;
+    public static final int LENGTH = 4;
+    public static final int VISIBLE = 8;
+    public static final int OFFSET = 16;
+
+
+    /****************************************************************************************
+     * Private variables
+     */
+
+    private RangeTypes mRangeType;
+    private float mFrom;
+    private float mTo;
+
+    private int mDefined;
+    private int mColor;
+    private float mSize;
+    private float mLength;
+    private boolean mVisible;
+    private float mOffset;
+
+
+    /****************************************************************************************
+     * Constructor
+     */
+
+    /**
+     * Create a rule on the range of elements.
+     * The limits are both included.
+     *
+     * @param type the range type
+     * @param from the range start
+     * @param to   the range end
+     */
+    @SuppressWarnings("unused")
+    public ScRule(RangeTypes type, float from, float to) {
+        this.mRangeType = type == null ? RangeTypes.INDEX : type;
+        this.mFrom = Math.min(from, to);
+        this.mTo = Math.max(from, to);
+    }
+
+
+    /****************************************************************************************
+     * Public methods
+     */
+
+    /**
+     * Check if the rule select an element.
+     *
+     * @param index      the element index
+     * @param percentage the element position in percentage of the path length
+     * @return true if selected
+     */
+    @SuppressWarnings("unused")
+    public boolean contains(int index, float percentage) {
+        float value = this.mRangeType == RangeTypes.INDEX ? index : percentage;
+        return value >= this.mFrom && value <= this.mTo;
+    }
+
+    /**
+     * Check if the rule define a property.
+     *
+     * @param property the property flag
+     * @return true if defined
+     */
+    @SuppressWarnings("unused")
+    public boolean isDefined(int property) {
+        return (this.mDefined & property) != 0;
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Return the range type.
+     *
+     * @return the range type
+     */
+    @SuppressWarnings("unused")
+    public RangeTypes getRangeType() {
+        return this.mRangeType;
+    }
+
+    /**
+     * Return the range start.
+     *
+     * @return the range start
+     */
+    @SuppressWarnings("unused")
+    public float getFrom() {
+        return this.mFrom;
+    }
+
+    /**
+     * Return the range end.
+     *
+     * @return the range end
+     */
+    @SuppressWarnings("unused")
+    public float getTo() {
+        return this.mTo;
+    }
+
+    /**
+     * Return the color.
+     *
+     * @return the color
+     */
+    @SuppressWarnings("unused")
+    public int getColor() {
+        return this.mColor;
+    }
+
+    /**
+     * Set the color of the selected elements.
+     *
+     * @param value the color
+     */
+    @SuppressWarnings("unused")
+    public void setColor(int value) {
+        this.mColor = value;
+        this.mDefined |= ScRule.COLOR;
+    }
+
+    /**
+     * Return the size.
+     *
+     * @return the size
+     */
+    @SuppressWarnings("unused")
+    public float getSize() {
+        return this.mSize;
+    }
+
+    /**
+     * Set the size of the selected elements, as the stroke width of the notches or the text
+     * size of the tokens.
+     *
+     * @param value the size
+     */
+    @SuppressWarnings("unused")
+    public void setSize(float value) {
+        this.mSize = value;
+        this.mDefined |= ScRule.SIZE;
+    }
+
+    /**
+     * Return the length.
+     *
+     * @return the length
+     */
+    @SuppressWarnings("unused")
+    public float getLength() {
+        return this.mLength;
+    }
+
+    /**
+     * Set the length of the selected elements.
+     *
+     * @param value the length
+     */
+    @SuppressWarnings("unused")
+    public void setLength(float value) {
+        this.mLength = value;
+        this.mDefined |= ScRule.LENGTH;
+    }
+
+    /**
+     * Return the visibility.
+     *
+     * @return the visibility
+     */
+    @SuppressWarnings("unused")
+    public boolean getVisible() {
+        return this.mVisible;
+    }
+
+    /**
+     * Set the visibility of the selected elements.
+     *
+     * @param value the visibility
+     */
+    @SuppressWarnings("unused")
+    public void setVisible(boolean value) {
+        this.mVisible = value;
+        this.mDefined |= ScRule.VISIBLE;
+    }
+
+    /**
+     * Return the offset.
+     *
+     * @return the offset
+     */
+    @SuppressWarnings("unused")
+    public float getOffset() {
+        return this.mOffset;
+    }
+
+    /**
+     * Set the offset of the selected elements from the path.
+     *
+     * @param value the offset
+     */
+    @SuppressWarnings("unused")
+    public void setOffset(float value) {
+        this.mOffset = value;
+        this.mDefined |= ScRule.OFFSET;
+    }
+
+}
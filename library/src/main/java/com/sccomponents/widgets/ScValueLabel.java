@@ -0,0 +1,512 @@
+package com.sccomponents.widgets;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PointF;
+import android.graphics.RectF;
+
+/**
+ * Write the current value of the gauge as a text label.
+ * <p>
+ * The value is formatted inside a reusable characters buffer only when changed and drawn
+ * without create any string so the label can be updated on every animation frame without
+ * generate garbage.
+ *
+ * @author agent
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class ScValueLabel extends ScFeature {
+
+    /****************************************************************************************
+     * Enumerators
+     */
+
+    /**
+     * Define which gauge value is written by the label.
+     * NONE: the value is set manually.
+     * HIGH: the high value of the owner gauge.
+     * LOW: the low value of the owner gauge.
+     */
+    @SuppressWarnings("unused")
+    public enum ValueBindings {
+        NONE,
+        HIGH,
+        LOW
+    }
+
+
+    /****************************************************************************************
+     * Constants
+     */
+
+    public static final int MAX_PRECISION = 6;
+
+    // The room for the sign, the integer digits of a long and the decimal separator
+    private static final int NUMBER_CAPACITY = 21;
+    private static final long[] POWERS = new long[]{
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L
+    };
+
+
+    /****************************************************************************************
+     * Private variables
+     */
+
+    private float mValue;
+    private float mStartRange;
+    private float mEndRange;
+    private ValueBindings mBinding;
+
+    private int mPrecision;
+    private char mDecimalSeparator;
+    private String mPrefix;
+    private String mSuffix;
+    private boolean mFollowValue;
+    private PointF mOffset;
+
+    private char[] mText;
+    private int mTextLength;
+    private boolean mTextMustBeFormatted;
+
+    private Paint mPaintClone;
+    private float[] mPoint;
+    private RectF mBounds;
+
+
+    /****************************************************************************************
+     * Constructor
+     */
+
+    @SuppressWarnings("unused")
+    public ScValueLabel(Path path) {
+        // Super
+        super(path);
+
+        // Init
+        this.mEndRange = 100.0f;
+        this.mBinding = ValueBindings.HIGH;
+        this.mDecimalSeparator = '.';
+        this.mOffset = new PointF();
+        this.mPoint = new float[3];
+        this.mBounds = new RectF();
+        this.mText = new char[ScValueLabel.NUMBER_CAPACITY + ScValueLabel.MAX_PRECISION];
+        this.mTextMustBeFormatted = true;
+
+        // Update the painter
+        this.mPaint.setStrokeWidth(0.0f);
+        this.mPaint.setTextSize(ScGauge.DEFAULT_TEXT_SIZE);
+        this.mPaint.setTextAlign(Paint.Align.CENTER);
+        this.mPaint.setStyle(Paint.Style.FILL);
+
+        this.mPaintClone = new Paint(this.mPaint);
+    }
+
+
+    /****************************************************************************************
+     * Private methods
+     */
+
+    /**
+     * Check the text buffer capacity considering the prefix, the suffix and the number.
+     * Called only when the prefix or the suffix change.
+     */
+    private void checkTextCapacity() {
+        int capacity = ScValueLabel.NUMBER_CAPACITY + ScValueLabel.MAX_PRECISION +
+                (this.mPrefix == null ? 0 : this.mPrefix.length()) +
+                (this.mSuffix == null ? 0 : this.mSuffix.length());
+        if (this.mText.length < capacity)
+            this.mText = new char[capacity];
+    }
+
+    /**
+     * Write a string inside the text buffer.
+     *
+     * @param source   the string
+     * @param position the first buffer position
+     * @return the next buffer position
+     */
+    private int writeString(String source, int position) {
+        // Check for empty values
+        if (source == null) return position;
+
+        // Copy the characters
+        source.getChars(0, source.length(), this.mText, position);
+        return position + source.length();
+    }
+
+    /**
+     * Write a positive integer number inside the text buffer.
+     *
+     * @param number   the number
+     * @param digits   the minimum digits count, the missing digits are filled by zeros
+     * @param position the first buffer position
+     * @return the next buffer position
+     */
+    private int writeNumber(long number, int digits, int position) {
+        // Count the digits
+        int count = 1;
+        for (long rest = number / 10; rest > 0; rest /= 10) count++;
+        if (count < digits) count = digits;
+
+        // Write the digits from the last one
+        for (int index = position + count - 1; index >= position; index--) {
+            this.mText[index] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        return position + count;
+    }
+
+    /**
+     * Format the current value inside the text buffer.
+     * The value is rounded to the precision and written with the prefix and the suffix.
+     */
+    private void formatText() {
+        // Reset
+        this.mTextMustBeFormatted = false;
+        float value = ScGauge.percentageToValue(this.mValue, this.mStartRange, this.mEndRange);
+
+        // Check for a not representable value, also when the rounded value overflow
+        long power = ScValueLabel.POWERS[this.mPrecision];
+        double absolute = Math.abs((double) value) * power;
+        if (Double.isNaN(absolute) || absolute >= Long.MAX_VALUE) {
+            this.mTextLength = 0;
+            return;
+        }
+
+        // Round to the precision without string conversions
+        long scaled = Math.round(absolute);
+
+        // Prefix and sign
+        int position = this.writeString(this.mPrefix, 0);
+        if (value < 0 && scaled != 0) this.mText[position++] = '-';
+
+        // Integer and decimal part
+        position = this.writeNumber(scaled / power, 1, position);
+        if (this.mPrecision > 0) {
+            this.mText[position++] = this.mDecimalSeparator;
+            position = this.writeNumber(scaled % power, this.mPrecision, position);
+        }
+
+        // Suffix
+        this.mTextLength = this.writeString(this.mSuffix, position);
+    }
+
+
+    /****************************************************************************************
+     * Draw methods
+     * <p>
+     * ATTENTION!
+     * In these methods I used to instantiate new objects and is preferable NOT do it for improve
+     * the performance of the component drawing.
+     * In case of low performance the first solution must be to move the new object creation in
+     * the global scope for do it once.
+     */
+
+    /**
+     * Draw the label on the canvas.
+     *
+     * @param canvas where to draw
+     */
+    private void drawLabel(Canvas canvas) {
+        // Format the text only if the value or the settings changed
+        if (this.mTextMustBeFormatted) this.formatText();
+        if (this.mTextLength == 0) return;
+
+        // Find the label point and its color
+        float distance = (this.mPathLength * this.mValue) / 100.0f;
+        float x = this.mBounds.centerX();
+        float y = this.mBounds.centerY();
+
+        if (this.mFollowValue) {
+            // Find the point on the path
+            if (!this.mPathMeasure.getPosTan(distance, 0.0f, 1, this.mPoint)) return;
+            x = this.mPoint[0];
+            y = this.mPoint[1];
+        }
+
+        // Set the painter
+        this.mPaintClone.set(this.mPaint);
+        this.mPaintClone.setColor(this.getGradientColor(distance));
+
+        // Draw the text
+        canvas.drawText(
+                this.mText, 0, this.mTextLength,
+                x + this.mOffset.x, y + this.mOffset.y,
+                this.mPaintClone
+        );
+    }
+
+
+    /****************************************************************************************
+     * Overrides
+     */
+
+    /**
+     * Draw the label on the canvas.
+     *
+     * @param canvas the canvas where draw
+     */
+    @Override
+    protected void onDraw(Canvas canvas) {
+        // Check for null values
+        if (canvas == null || this.mPath == null)
+            return;
+
+        // Draw the label
+        this.drawLabel(canvas);
+    }
+
+    /**
+     * The text depends only by the value and the format settings while the path bounds
+     * are needed to center the label.
+     * The value and the position settings raise the settings flag too so the label is drawn
+     * again also when cached inside a layer.
+     *
+     * @param changes the changed flags
+     */
+    @Override
+    protected void onRefresh(int changes) {
+        if ((changes & ScFeature.CHANGED_PATH) != 0)
+            this.mPath.computeBounds(this.mBounds, true);
+        if ((changes & ScFeature.CHANGED_SETTINGS) != 0)
+            this.mTextMustBeFormatted = true;
+    }
+
+
+    /****************************************************************************************
+     * Public methods
+     */
+
+    /**
+     * Return the formatted text of the current value.
+     * Note that this method create a new string so must not be used while drawing.
+     *
+     * @return the text
+     */
+    @SuppressWarnings("unused")
+    public String getText() {
+        // The pending changes are applied only on the next drawing so check them too
+        if (this.mTextMustBeFormatted || this.isChanged()) this.formatText();
+        return new String(this.mText, 0, this.mTextLength);
+    }
+
+    /**
+     * Set the range used to convert the value from percentage to the written number.
+     *
+     * @param start the value written at the path start
+     * @param end   the value written at the path end
+     */
+    @SuppressWarnings("unused")
+    public void setRange(float start, float end) {
+        if (this.mStartRange == start && this.mEndRange == end) return;
+        this.mStartRange = start;
+        this.mEndRange = end;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+    /**
+     * Set the label offset respect the label point.
+     *
+     * @param horizontal the horizontal offset
+     * @param vertical   the vertical offset
+     */
+    @SuppressWarnings("unused")
+    public void setOffset(float horizontal, float vertical) {
+        if (this.mOffset.x == horizontal && this.mOffset.y == vertical) return;
+        this.mOffset.set(horizontal, vertical);
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+
+    /****************************************************************************************
+     * Public properties
+     */
+
+    /**
+     * Return the value in percentage respect to the path length.
+     *
+     * @return the value in percentage
+     */
+    @SuppressWarnings("unused")
+    public float getValue() {
+        return this.mValue;
+    }
+
+    /**
+     * Set the value in percentage respect to the path length.
+     * The text will be formatted again only if the value changed.
+     *
+     * @param value the value in percentage
+     */
+    @SuppressWarnings("unused")
+    public void setValue(float value) {
+        // Check the limits
+        if (value < 0.0f) value = 0.0f;
+        if (value > 100.0f) value = 100.0f;
+
+        // Store the value
+        if (this.mValue == value) return;
+        this.mValue = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+    /**
+     * Return the range start value.
+     *
+     * @return the start value
+     */
+    @SuppressWarnings("unused")
+    public float getStartRange() {
+        return this.mStartRange;
+    }
+
+    /**
+     * Return the range end value.
+     *
+     * @return the end value
+     */
+    @SuppressWarnings("unused")
+    public float getEndRange() {
+        return this.mEndRange;
+    }
+
+    /**
+     * Return the gauge value bound to the label.
+     *
+     * @return the binding
+     */
+    @SuppressWarnings("unused")
+    public ValueBindings getBinding() {
+        return this.mBinding;
+    }
+
+    /**
+     * Set the gauge value bound to the label.
+     * When added to a gauge the bound value is updated by the gauge on every drawing.
+     *
+     * @param value the binding
+     */
+    @SuppressWarnings("unused")
+    public void setBinding(ValueBindings value) {
+        this.mBinding = value == null ? ValueBindings.NONE : value;
+    }
+
+    /**
+     * Return the decimal digits count.
+     *
+     * @return the precision
+     */
+    @SuppressWarnings("unused")
+    public int getPrecision() {
+        return this.mPrecision;
+    }
+
+    /**
+     * Set the decimal digits count, from 0 to {@link #MAX_PRECISION}.
+     *
+     * @param value the precision
+     */
+    @SuppressWarnings("unused")
+    public void setPrecision(int value) {
+        // Check the limits
+        if (value < 0) value = 0;
+        if (value > ScValueLabel.MAX_PRECISION) value = ScValueLabel.MAX_PRECISION;
+
+        // Store the value
+        if (this.mPrecision == value) return;
+        this.mPrecision = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+    /**
+     * Return the decimal separator.
+     *
+     * @return the separator
+     */
+    @SuppressWarnings("unused")
+    public char getDecimalSeparator() {
+        return this.mDecimalSeparator;
+    }
+
+    /**
+     * Set the decimal separator.
+     *
+     * @param value the separator
+     */
+    @SuppressWarnings("unused")
+    public void setDecimalSeparator(char value) {
+        if (this.mDecimalSeparator == value) return;
+        this.mDecimalSeparator = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+    /**
+     * Return the text written before the value.
+     *
+     * @return the prefix
+     */
+    @SuppressWarnings("unused")
+    public String getPrefix() {
+        return this.mPrefix;
+    }
+
+    /**
+     * Set the text written before the value.
+     *
+     * @param value the prefix
+     */
+    @SuppressWarnings("unused")
+    public void setPrefix(String value) {
+        this.mPrefix = value;
+        this.checkTextCapacity();
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+    /**
+     * Return the text written after the value.
+     *
+     * @return the suffix
+     */
+    @SuppressWarnings("unused")
+    public String getSuffix() {
+        return this.mSuffix;
+    }
+
+    /**
+     * Set the text written after the value, as the unit of measure.
+     *
+     * @param value the suffix
+     */
+    @SuppressWarnings("unused")
+    public void setSuffix(String value) {
+        this.mSuffix = value;
+        this.checkTextCapacity();
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+    /**
+     * Return true if the label follow the value point on the path.
+     *
+     * @return the current status
+     */
+    @SuppressWarnings("unused")
+    public boolean getFollowValue() {
+        return this.mFollowValue;
+    }
+
+    /**
+     * Set true if want that the label is drawn on the value point of the path, otherwise the
+     * label is drawn on the center of the path boundaries.
+     *
+     * @param value the current status
+     */
+    @SuppressWarnings("unused")
+    public void setFollowValue(boolean value) {
+        if (this.mFollowValue == value) return;
+        this.mFollowValue = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+    }
+
+}
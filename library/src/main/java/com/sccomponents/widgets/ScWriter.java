@@ -6,6 +6,10 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
 import android.graphics.Rect;
+import android.graphics.Shader;
+import android.os.Build;
+
+import java.util.Arrays;
 
 
 /**
@@ -56,9 +60,44 @@ public class ScWriter extends ScFeature {
     private boolean mConsiderFontMetrics;
     private boolean mLastTokenOnEnd;
 
-    private ScPathMeasure mSegmentMeasure;
+    private Path[] mTokenSegments;
+    private Path mSegment;
+    private Matrix mSegmentMatrix;
     private OnDrawListener mOnDrawListener;
 
+    private float[] mDistances;
+    private float[] mPoints;
+    private PointF mPoint;
+
+    private boolean mTokensMustBeRebuilt;
+    private float mTokensStep;
+    private float[] mTokenDistances;
+    private int[] mTokenColors;
+    private float[] mTokenSizes;
+    private float[] mTokenOffsets;
+    private boolean[] mTokenHidden;
+    private float[] mTokenAngles;
+    private float[] mTokenHeights;
+    private float[] mTokenTops;
+    private float[] mTokenBottoms;
+
+    private TokenInfo mInfo;
+    private PointF mInfoOffset;
+    private Rect mBounds;
+    private Paint.FontMetrics mFontMetrics;
+
+    private String mGlyphCharacters;
+    private ScGlyphAtlas[] mTokenAtlases;
+    private ScGlyphAtlas mGlyphAtlas;
+    private int mGlyphColor;
+    private int mGlyphCount;
+    private float[] mGlyphVertices;
+    private float[] mGlyphTexs;
+    private float[] mGlyphDistances;
+    private float[] mGlyphPoints;
+    private Paint mGlyphPaint;
+    private Shader mGlyphShader;
+
 
     /****************************************************************************************
      * Constructor
@@ -73,7 +112,16 @@ public class ScWriter extends ScFeature {
         this.mConsiderFontMetrics = true;
         this.mTokenPosition = TokenPositions.OUTSIDE;
         this.mTokenOffset = new PointF();
-        this.mSegmentMeasure = new ScPathMeasure();
+        this.mSegment = new Path();
+        this.mSegmentMatrix = new Matrix();
+        this.mPoint = new PointF();
+        this.mTokensMustBeRebuilt = true;
+
+        this.mInfo = new TokenInfo();
+        this.mInfo.source = this;
+        this.mInfoOffset = new PointF();
+        this.mBounds = new Rect();
+        this.mFontMetrics = new Paint.FontMetrics();
 
         // Update the painter
         this.mPaint.setStrokeWidth(0.0f);
@@ -81,6 +129,7 @@ public class ScWriter extends ScFeature {
         this.mPaint.setStyle(Paint.Style.FILL);
 
         this.mPaintClone = new Paint(this.mPaint);
+        this.mGlyphPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
     }
 
 
@@ -95,17 +144,24 @@ public class ScWriter extends ScFeature {
      * @return the extra vertical offset
      */
     private float getVerticalOffsetByPosition(TokenInfo info) {
-        // Calc the text boundaries
-        Rect bounds = new Rect();
-        this.getPainter().getTextBounds(info.text, 0, info.text.length(), bounds);
+        // Take the text height from the cache if the text is not changed by the listener,
+        // otherwise calc the text boundaries.
+        float height;
+        if (info.text == this.mTokens[info.index]) {
+            height = this.mTokenHeights[info.index];
+
+        } else {
+            this.mPaintClone.getTextBounds(info.text, 0, info.text.length(), this.mBounds);
+            height = this.mBounds.height();
+        }
 
         // Return the calculated offset
         switch (info.position) {
             case MIDDLE:
-                return bounds.height() / 2;
+                return (int) height / 2;
 
             case INSIDE:
-                return bounds.height();
+                return height;
 
             default:
                 return 0.0f;
@@ -125,10 +181,10 @@ public class ScWriter extends ScFeature {
         // Return the calculated offset
         switch (info.position) {
             case OUTSIDE:
-                return this.mPaintClone.getFontMetrics().bottom;
+                return this.mTokenBottoms[info.index];
 
             case INSIDE:
-                return this.mPaintClone.getFontMetrics().top;
+                return this.mTokenTops[info.index];
 
             default:
                 return 0.0f;
@@ -187,21 +243,25 @@ public class ScWriter extends ScFeature {
         // Check for null value
         if (canvas == null) return;
 
-        // Holder
-        Path segment = new Path();
+        // Take the segment from the cache if the distance is not changed by the listener,
+        // otherwise extract the path segment.
+        // The cache is empty when the tokens are unbend by default and the listener bend one.
+        Path segment;
+        if (info.distance == this.mTokenDistances[info.index] && this.mTokenSegments[info.index] != null) {
+            segment = this.mTokenSegments[info.index];
 
-        // Extract the path segment
-        this.mSegmentMeasure.setPath(this.mPath, false);
-        this.mSegmentMeasure
-                .getSegment(info.distance, info.distance + step, segment, true);
+        } else {
+            segment = this.mSegment;
+            segment.reset();
+            this.mPathMeasure.getSegment(info.distance, info.distance + step, segment, true);
+        }
 
         // Check for the angle
         if (info.angle != 0) {
-            // Get the matrix and rotate it
-            Matrix matrix = new Matrix();
-            matrix.postRotate(info.angle);
-            // Apply the new matrix to the segment
-            segment.transform(matrix);
+            // Rotate the matrix and apply it to a copy of the segment
+            this.mSegmentMatrix.setRotate(info.angle);
+            segment.transform(this.mSegmentMatrix, this.mSegment);
+            segment = this.mSegment;
         }
 
         // Fix the vertical offset considering the position of the text on the path and the
@@ -214,43 +274,177 @@ public class ScWriter extends ScFeature {
                 info.text,
                 segment,
                 info.offset.x, info.offset.y + extraVerticalOffset,
-                this.mPaint
+                this.mPaintClone
         );
     }
 
     /**
-     * Draw the single token on canvas.
+     * Check the glyphs holders capacity and grow them if needed.
      *
-     * @param canvas the canvas where draw
-     * @param info   the token info
+     * @param glyphs the glyphs count to add
+     */
+    private void ensureGlyphCapacity(int glyphs) {
+        // Vertices holder
+        int needed = this.mGlyphCount + glyphs * ScGlyphAtlas.VERTICES_PER_GLYPH * 2;
+        if (this.mGlyphVertices == null || this.mGlyphVertices.length < needed) {
+            int size = Math.max(needed, this.mGlyphVertices == null ? 0 : this.mGlyphVertices.length * 2);
+            this.mGlyphVertices = this.mGlyphVertices == null ?
+                    new float[size] : Arrays.copyOf(this.mGlyphVertices, size);
+            this.mGlyphTexs = this.mGlyphTexs == null ?
+                    new float[size] : Arrays.copyOf(this.mGlyphTexs, size);
+        }
+
+        // Points holder
+        if (this.mGlyphDistances == null || this.mGlyphDistances.length < glyphs) {
+            this.mGlyphDistances = new float[glyphs];
+            this.mGlyphPoints = new float[glyphs * 3];
+        }
+    }
+
+    /**
+     * Draw all the glyphs quads added from the last flush with a single call.
+     *
+     * @param canvas where to draw
      */
-    private void drawToken(Canvas canvas, TokenInfo info, float step) {
-        // Define the point holder
-        float[] point;
+    private void flushGlyphs(Canvas canvas) {
+        // Check for empty values
+        if (this.mGlyphCount == 0) return;
 
-        // Check if the last token must be on the last path point
-        if (this.mLastTokenOnEnd && info.index == this.mTokens.length - 1) {
-            // Get the last point on the original path
-            point = this.mPathMeasure.getPosTan(this.mPathLength);
+        // Take the shader created once by the atlas
+        Shader shader = this.mGlyphAtlas.getShader();
+        if (this.mGlyphShader != shader) {
+            this.mGlyphPaint.setShader(shader);
+            this.mGlyphShader = shader;
+        }
 
-        } else {
-            // Local distance
-            float local = info.distance;
+        // The alpha atlas take the painter color
+        this.mGlyphPaint.setColor(this.mGlyphColor);
+        canvas.drawVertices(
+                Canvas.VertexMode.TRIANGLES, this.mGlyphCount,
+                this.mGlyphVertices, 0, this.mGlyphTexs, 0,
+                null, 0, null, 0, 0, this.mGlyphPaint
+        );
 
-            // Check the alignment
-            if (this.mPaint.getTextAlign() == Paint.Align.CENTER) local += step / 2;
-            if (this.mPaint.getTextAlign() == Paint.Align.RIGHT) local += step;
+        // Reset
+        this.mGlyphCount = 0;
+    }
 
-            // Get the point on the path by the current distance
-            point = this.mPathMeasure.getPosTan(local);
+    /**
+     * Add the token glyphs to the current batch taking them from the atlas.
+     * The glyphs are placed as the text would be drawn by the unbend and bend methods but each
+     * glyph of the bend text is rotated as a whole on the path tangent at its center.
+     *
+     * @param canvas        where to draw
+     * @param info          the token info
+     * @param originalAngle the path tangent angle on the token point
+     * @param step          the length of segment
+     * @return false if the token cannot be drawn by the atlas
+     */
+    private boolean drawGlyphs(Canvas canvas, TokenInfo info, float originalAngle, float step) {
+        // Check if the token can be drawn by the atlas.
+        // The rotated bend text need to be drawn on the transformed segment.
+        ScGlyphAtlas atlas = this.mTokenAtlases[info.index];
+        if (canvas == null || atlas == null || !atlas.contains(info.text) || (!info.unbend && info.angle != 0))
+            return false;
+
+        // Start a new batch if the atlas or the color changed
+        if (atlas != this.mGlyphAtlas || info.color != this.mGlyphColor) {
+            this.flushGlyphs(canvas);
+            this.mGlyphAtlas = atlas;
+            this.mGlyphColor = info.color;
         }
 
-        // Check for empty values
-        if (point == null) return;
+        // Holders
+        String text = info.text;
+        int length = text.length();
+        this.ensureGlyphCapacity(length);
+
+        // Fix the vertical offset considering the position of the text on the path and the
+        // font metrics offset.
+        float extraVerticalOffset = this.getVerticalOffsetByPosition(info) -
+                this.getVerticalOffsetByFontMetrics(info);
+
+        // The text alignment factor
+        float alignment = 0.0f;
+        if (this.mPaintClone.getTextAlign() == Paint.Align.CENTER) alignment = 0.5f;
+        if (this.mPaintClone.getTextAlign() == Paint.Align.RIGHT) alignment = 1.0f;
+        float width = atlas.measureText(text);
+
+        if (info.unbend) {
+            // Move the point as the unbend text and find the rotation
+            ScFeature.translatePoint(info.point, 0.0f, extraVerticalOffset, originalAngle);
+            double angle = Math.toRadians(info.angle);
+            float cos = (float) Math.cos(angle);
+            float sin = (float) Math.sin(angle);
+
+            // Add the glyphs on the rotated baseline
+            float x = info.offset.x - width * alignment;
+            float y = info.offset.y;
+            for (int index = 0; index < length; index++) {
+                char glyph = text.charAt(index);
+                this.mGlyphCount = atlas.addGlyph(glyph,
+                        info.point.x + x * cos - y * sin, info.point.y + x * sin + y * cos,
+                        cos, sin, this.mGlyphVertices, this.mGlyphTexs, this.mGlyphCount);
+                x += atlas.getAdvance(glyph);
+            }
+
+        } else {
+            // The text is aligned on the segment as the text on path
+            float segment = Math.min(step, this.mPathLength - info.distance);
+            float start = info.offset.x + (segment - width) * alignment;
+            float vertical = info.offset.y + extraVerticalOffset;
+
+            // Find the glyphs center distances and take all the points with one traversal
+            int count = 0;
+            for (int index = 0; index < length; index++) {
+                float advance = atlas.getAdvance(text.charAt(index));
+                float center = start + advance / 2;
+                if (center >= 0.0f && center <= segment)
+                    this.mGlyphDistances[count++] = info.distance + center;
+                start += advance;
+            }
+            this.mPathMeasure.getPosTan(this.mGlyphDistances, count, this.mGlyphPoints);
+
+            // Add the glyphs rotated on the tangent and moved on the normal
+            start = info.offset.x + (segment - width) * alignment;
+            count = 0;
+            for (int index = 0; index < length; index++) {
+                char glyph = text.charAt(index);
+                float advance = atlas.getAdvance(glyph);
+                float center = start + advance / 2;
+                start += advance;
+                if (center < 0.0f || center > segment) continue;
+
+                float x = this.mGlyphPoints[count * 3];
+                float y = this.mGlyphPoints[count * 3 + 1];
+                float cos = (float) Math.cos(this.mGlyphPoints[count * 3 + 2]);
+                float sin = (float) Math.sin(this.mGlyphPoints[count * 3 + 2]);
+                count++;
+
+                this.mGlyphCount = atlas.addGlyph(glyph,
+                        x - cos * advance / 2 - sin * vertical,
+                        y - sin * advance / 2 + cos * vertical,
+                        cos, sin, this.mGlyphVertices, this.mGlyphTexs, this.mGlyphCount);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Draw the single token on canvas.
+     *
+     * @param canvas the canvas where draw
+     * @param info   the token info
+     */
+    private void drawToken(Canvas canvas, TokenInfo info, float step) {
+        // Get the point and the angle already found on the path
+        int offset = info.index * 3;
+        float tangent = this.mTokenAngles[info.index];
 
         // Define the properties.
-        info.angle = this.mUnbend ? (float) Math.toDegrees(point[3]) : 0.0f;
-        info.point = ScWriter.toPoint(point);
+        this.mPoint.set(this.mPoints[offset], this.mPoints[offset + 1]);
+        info.angle = this.mUnbend ? tangent : 0.0f;
+        info.point = this.mPoint;
 
         // Check if have a liked listener
         if (this.mOnDrawListener != null) {
@@ -264,11 +458,16 @@ public class ScWriter extends ScFeature {
         // Apply the current settings to the painter
         this.mPaintClone.set(this.mPaint);
         this.mPaintClone.setColor(info.color);
+        this.mPaintClone.setTextSize(this.mTokenSizes[info.index]);
+
+        // Try to draw by the glyphs atlas, else draw the pending glyphs before the text
+        if (this.drawGlyphs(canvas, info, tangent, step)) return;
+        this.flushGlyphs(canvas);
 
         // Draw by the case
         if (info.unbend) {
             // Unbend
-            this.drawUnbend(canvas, info, (float) Math.toDegrees(point[3]));
+            this.drawUnbend(canvas, info, tangent);
 
         } else {
             // Bend
@@ -276,6 +475,112 @@ public class ScWriter extends ScFeature {
         }
     }
 
+    /**
+     * Find the position, the color and the style of all tokens.
+     * Called only when the path, the tokens or their settings changed and not on every drawing.
+     */
+    private void buildTokens() {
+        // Reset
+        this.mTokensMustBeRebuilt = false;
+
+        // Get the step distance to cover all path
+        int tokens = this.mTokens.length;
+        int count = tokens + (this.mLastTokenOnEnd ? -1 : 0);
+        float step = this.mPathLength / (count > 0 ? count : 1);
+        this.mTokensStep = step;
+
+        // Check the holders capacity
+        if (this.mDistances == null || this.mDistances.length < tokens) {
+            this.mDistances = new float[tokens];
+            this.mPoints = new float[tokens * 3];
+            this.mTokenDistances = new float[tokens];
+            this.mTokenColors = new int[tokens];
+            this.mTokenSizes = new float[tokens];
+            this.mTokenOffsets = new float[tokens];
+            this.mTokenHidden = new boolean[tokens];
+            this.mTokenAngles = new float[tokens];
+            this.mTokenHeights = new float[tokens];
+            this.mTokenTops = new float[tokens];
+            this.mTokenBottoms = new float[tokens];
+            this.mTokenSegments = new Path[tokens];
+            this.mTokenAtlases = new ScGlyphAtlas[tokens];
+        }
+
+        // Find the distance of each token point considering the alignment.
+        // If the last token must be on the last path point take the path length.
+        float alignment = 0.0f;
+        if (this.mPaint.getTextAlign() == Paint.Align.CENTER) alignment = step / 2;
+        if (this.mPaint.getTextAlign() == Paint.Align.RIGHT) alignment = step;
+
+        for (int index = 0; index < tokens; index++)
+            this.mDistances[index] = this.mLastTokenOnEnd && index == tokens - 1 ?
+                    this.mPathLength : index * step + alignment;
+
+        // Find all the points on the path with one traversal
+        if (!this.mPathMeasure.getPosTan(this.mDistances, tokens, this.mPoints)) {
+            this.mTokensStep = -1.0f;
+            return;
+        }
+
+        // Cycle all token.
+        for (int index = 0; index < tokens; index++) {
+            // Helper for last position
+            boolean isLast = index == tokens - 1;
+
+            // Default style
+            float distance = isLast && this.mLastTokenOnEnd ? this.mPathLength : index * step;
+            this.mTokenDistances[index] = distance;
+            this.mTokenColors[index] = this.getGradientColor(distance);
+            this.mTokenSizes[index] = this.mPaint.getTextSize();
+            this.mTokenOffsets[index] = 0.0f;
+            this.mTokenHidden[index] = false;
+
+            // Apply the rules
+            if (this.mRules != null) {
+                float percentage = this.mPathLength > 0 ? distance * 100.0f / this.mPathLength : 0.0f;
+
+                ScRule rule = this.findRule(index, percentage, ScRule.COLOR);
+                if (rule != null) this.mTokenColors[index] = rule.getColor();
+
+                rule = this.findRule(index, percentage, ScRule.SIZE);
+                if (rule != null) this.mTokenSizes[index] = rule.getSize();
+
+                rule = this.findRule(index, percentage, ScRule.OFFSET);
+                if (rule != null) this.mTokenOffsets[index] = rule.getOffset();
+
+                rule = this.findRule(index, percentage, ScRule.VISIBLE);
+                if (rule != null) this.mTokenHidden[index] = !rule.getVisible();
+            }
+
+            // Measure the text with its own size
+            this.mTokenAngles[index] = (float) Math.toDegrees(this.mPoints[index * 3 + 2]);
+            this.mPaintClone.set(this.mPaint);
+            this.mPaintClone.setTextSize(this.mTokenSizes[index]);
+            this.mPaintClone.getFontMetrics(this.mFontMetrics);
+            this.mTokenTops[index] = this.mFontMetrics.top;
+            this.mTokenBottoms[index] = this.mFontMetrics.bottom;
+
+            String token = this.mTokens[index];
+            if (token != null) {
+                this.mPaintClone.getTextBounds(token, 0, token.length(), this.mBounds);
+                this.mTokenHeights[index] = this.mBounds.height();
+            } else
+                this.mTokenHeights[index] = 0.0f;
+
+            // Take the glyphs atlas for the token text size
+            this.mTokenAtlases[index] = this.mGlyphCharacters != null ?
+                    ScGlyphAtlas.obtain(this.mPaintClone, this.mGlyphCharacters) : null;
+
+            // Extract the segment where draw the bend text
+            if (!this.mUnbend) {
+                if (this.mTokenSegments[index] == null) this.mTokenSegments[index] = new Path();
+                this.mTokenSegments[index].reset();
+                this.mPathMeasure.getSegment(distance, distance + step, this.mTokenSegments[index], true);
+            } else
+                this.mTokenSegments[index] = null;
+        }
+    }
+
     /**
      * Draw all string token on the path.
      *
@@ -285,15 +590,12 @@ public class ScWriter extends ScFeature {
         // Check for empty value
         if (this.mTokens == null || this.mPath == null) return;
 
-        // Get the step distance to cover all path
-        int count = this.mTokens.length + (this.mLastTokenOnEnd ? -1 : 0);
-        float step = this.mPathLength / (count > 0 ? count : 1);
+        // Find the tokens if needed
+        if (this.mTokensMustBeRebuilt) this.buildTokens();
+        if (this.mTokensStep < 0.0f) return;
 
-        // Define the token info.
-        // I use to create the object here for avoid to create they n times after.
-        // Always inside the draw method is better not instantiate too much classes.
-        TokenInfo info = new TokenInfo();
-        info.source = this;
+        // The token info is created once and reused for all tokens
+        TokenInfo info = this.mInfo;
 
         // Convert the limits from percentages in distances
         float startLimit = (this.mPathLength * this.mStartPercentage) / 100.0f;
@@ -301,23 +603,25 @@ public class ScWriter extends ScFeature {
 
         // Cycle all token.
         for (int index = 0; index < this.mTokens.length; index++) {
-            // Helper for last position
-            boolean isLast = index == this.mTokens.length - 1;
-
             // Define the notch info structure and fill with the local settings
             info.point = null;
-            info.offset = new PointF(this.mTokenOffset.x, this.mTokenOffset.y);
+            this.mInfoOffset.set(this.mTokenOffset.x, this.mTokenOffset.y + this.mTokenOffsets[index]);
+            info.offset = this.mInfoOffset;
             info.position = this.mTokenPosition;
             info.unbend = this.mUnbend;
             info.text = this.mTokens[index];
             info.index = index;
-            info.distance = isLast && this.mLastTokenOnEnd ? this.mPathLength : index * step;
-            info.visible = info.distance >= startLimit && info.distance <= endLimit;
-            info.color = this.getGradientColor(info.distance);
+            info.distance = this.mTokenDistances[index];
+            info.visible = !this.mTokenHidden[index] &&
+                    info.distance >= startLimit && info.distance <= endLimit;
+            info.color = this.mTokenColors[index];
 
             // Draw the single token
-            this.drawToken(canvas, info, step);
+            this.drawToken(canvas, info, this.mTokensStep);
         }
+
+        // Draw the pending glyphs
+        this.flushGlyphs(canvas);
     }
 
 
@@ -336,6 +640,33 @@ public class ScWriter extends ScFeature {
         this.drawTokens(canvas);
     }
 
+    /**
+     * The tokens position and style depend by the path, the colors, the painter, the settings
+     * and the rules while the limits only decide which tokens are visible.
+     *
+     * @param changes the changed flags
+     */
+    @Override
+    protected void onRefresh(int changes) {
+        if ((changes & ~ScFeature.CHANGED_LIMITS) != 0)
+            this.mTokensMustBeRebuilt = true;
+    }
+
+
+    /**
+     * The text on path is not supported by the hardware accelerated canvas before
+     * {@link Build.VERSION_CODES#JELLY_BEAN} so the bent tokens are compatible only after.
+     * The vertices used by the glyphs atlas are supported only from Android Q (API 29).
+     * The constant is not defined by the compile SDK so the API level is used directly.
+     *
+     * @return true if compatible
+     */
+    @Override
+    public boolean isHardwareCompatible() {
+        return (this.mUnbend || Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) &&
+                (this.mGlyphCharacters == null || Build.VERSION.SDK_INT >= 29);
+    }
+
 
     /****************************************************************************************
      * Public classes and methods
@@ -371,8 +702,10 @@ public class ScWriter extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setTokenOffset(float horizontal, float vertical) {
+        if (this.mTokenOffset.x == horizontal && this.mTokenOffset.y == vertical) return;
         this.mTokenOffset.x = horizontal;
         this.mTokenOffset.y = vertical;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
 
@@ -397,7 +730,9 @@ public class ScWriter extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setTokens(String... value) {
+        if (Arrays.equals(this.mTokens, value)) return;
         this.mTokens = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -417,7 +752,9 @@ public class ScWriter extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setPosition(TokenPositions value) {
+        if (this.mTokenPosition == value) return;
         this.mTokenPosition = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -437,7 +774,10 @@ public class ScWriter extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setUnbend(boolean value) {
+        if (this.mUnbend == value) return;
         this.mUnbend = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+        this.hardwareCompatibilityChanged();
     }
 
     /**
@@ -457,7 +797,9 @@ public class ScWriter extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setConsiderFontMetrics(boolean value) {
+        if (this.mConsiderFontMetrics == value) return;
         this.mConsiderFontMetrics = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
     }
 
     /**
@@ -479,8 +821,43 @@ public class ScWriter extends ScFeature {
      */
     @SuppressWarnings("unused")
     public void setLastTokenOnEnd(boolean value) {
+        // Check if the value is changed, considering the bending forced to disable too
+        if (this.mLastTokenOnEnd == value && (!value || this.mUnbend)) return;
+
+        // Store the value
         this.mLastTokenOnEnd = value;
         if (value) this.mUnbend = true;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+        this.hardwareCompatibilityChanged();
+    }
+
+    /**
+     * Return the characters drawn by the glyphs atlas.
+     *
+     * @return the characters
+     */
+    @SuppressWarnings("unused")
+    public String getGlyphCharacters() {
+        return this.mGlyphCharacters;
+    }
+
+    /**
+     * Set the characters to rasterize once inside a shared glyphs atlas.
+     * The tokens composed only by these characters will be drawn as batched textured quads
+     * instead of layout the text on every drawing, useful for the numeric labels that change
+     * often.
+     * Use {@link ScGlyphAtlas#DEFAULT_CHARACTERS} for the numbers or null to disable.
+     *
+     * @param value the characters
+     */
+    @SuppressWarnings("unused")
+    public void setGlyphCharacters(String value) {
+        if (value != null && value.isEmpty()) value = null;
+        if (value == null ? this.mGlyphCharacters == null : value.equals(this.mGlyphCharacters))
+            return;
+        this.mGlyphCharacters = value;
+        this.setChanged(ScFeature.CHANGED_SETTINGS);
+        this.hardwareCompatibilityChanged();
     }
 
 
@@ -503,6 +880,16 @@ public class ScWriter extends ScFeature {
 
     }
 
+    /**
+     * Check if the draw listener is linked.
+     *
+     * @return true if have a listener
+     */
+    @Override
+    protected boolean hasOnDrawListener() {
+        return this.mOnDrawListener != null;
+    }
+
     /**
      * Set the draw listener to call
      *